@@ -12,9 +12,10 @@ if %errorlevel% neq 0 (
     exit /b 1
 )
 
-REM Create database and tables
+REM Create database and baseline tables; Flyway applies the later migrations at startup
 echo Creating database and tables...
-mysql -u root -p < src\main\resources\schema.sql
+mysql -u root -p -e "CREATE DATABASE IF NOT EXISTS employee"
+if %errorlevel% equ 0 mysql -u root -p employee < src\main\resources\db\migration\V1__baseline_schema.sql
 if %errorlevel% neq 0 (
     echo ERROR: Failed to create database schema
     echo Please check your MySQL credentials and ensure MySQL is running
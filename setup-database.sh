@@ -11,9 +11,10 @@ if ! command -v mysql &> /dev/null; then
     exit 1
 fi
 
-# Create database and tables
+# Create database and baseline tables; Flyway applies the later migrations at startup
 echo "Creating database and tables..."
-mysql -u root -p < src/main/resources/schema.sql
+mysql -u root -p -e "CREATE DATABASE IF NOT EXISTS employee" && \
+    mysql -u root -p employee < src/main/resources/db/migration/V1__baseline_schema.sql
 if [ $? -ne 0 ]; then
     echo "ERROR: Failed to create database schema"
     echo "Please check your MySQL credentials and ensure MySQL is running"
@@ -0,0 +1,37 @@
+package com.assignment.employeemanagement.benchmark;
+
+import com.assignment.employeemanagement.entities.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeProjectNamesBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"1", "3", "10"})
+    private int projectsPerEmployee;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = SyntheticDataset.generate(size, projectsPerEmployee, 42L).employees();
+    }
+
+    @Benchmark
+    public void getProjectNames(Blackhole blackhole) {
+        for (Employee employee : employees) {
+            blackhole.consume(employee.getProjectNames());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.assignment.employeemanagement.benchmark;
+
+import com.assignment.employeemanagement.config.ResponseEncoding;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializes a page of employees through ResponseCompressionFilter's encoders, the way a compressed
+// response is produced. Time per page is the CPU cost; the compressed size of each combination is
+// printed once per trial. EmployeeSerializationBenchmark.jsonArray is the uncompressed baseline.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+    @Param({"500", "5000", "100000"})
+    private int size;
+
+    @Param({"GZIP", "DEFLATE"})
+    private ResponseEncoding encoding;
+
+    @Param({"1", "4", "6", "9"})
+    private int level;
+
+    // employees.compression.buffer-size
+    @Param({"8192"})
+    private int bufferSize;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeResponseDTO> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Same settings as spring.jackson.* in application.properties
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        employees = SyntheticDataset.generate(size, 3, 42L).responses();
+
+        CountingOutputStream plain = new CountingOutputStream();
+        objectMapper.writeValue(plain, employees);
+        long compressed = compressedPage();
+        System.out.printf("%n%d employees, %s level %d: %,d -> %,d bytes (%.1f%%)%n",
+                size, encoding, level, plain.count, compressed, 100.0 * compressed / plain.count);
+    }
+
+    @Benchmark
+    public long compressedPage() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (OutputStream body = encoding.encode(out, level, bufferSize)) {
+            objectMapper.writeValue(body, employees);
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
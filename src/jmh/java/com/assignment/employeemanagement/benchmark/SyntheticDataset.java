@@ -0,0 +1,175 @@
+package com.assignment.employeemanagement.benchmark;
+
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+// Deterministic in-memory employees, projects and reviews for the benchmarks. Shapes follow the
+// sample data: a handful of departments, a few projects per employee and several reviews each.
+public final class SyntheticDataset {
+    private static final String[] DEPARTMENTS = {"Engineering", "Marketing", "Sales", "HR", "Finance", "Operations"};
+    private static final int PROJECT_COUNT = 200;
+    private static final int REVIEWS_PER_EMPLOYEE = 6;
+
+    private final List<Employee> employees;
+    private final Map<Long, List<Object[]>> projectRowsByEmployee;
+    private final Map<Long, Object[]> latestScoreRowByEmployee;
+
+    private SyntheticDataset(List<Employee> employees, Map<Long, List<Object[]>> projectRowsByEmployee,
+                             Map<Long, Object[]> latestScoreRowByEmployee) {
+        this.employees = employees;
+        this.projectRowsByEmployee = projectRowsByEmployee;
+        this.latestScoreRowByEmployee = latestScoreRowByEmployee;
+    }
+
+    public static SyntheticDataset generate(int size, int projectsPerEmployee, long seed) {
+        Random random = new Random(seed);
+
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS.length; i++) {
+            Department department = new Department();
+            department.setId((long) i + 1);
+            department.setName(DEPARTMENTS[i]);
+            department.setBudget(100_000.0 * (i + 1));
+            departments.add(department);
+        }
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            Project project = new Project();
+            project.setId((long) i + 1);
+            project.setName("Project " + (i + 1));
+            project.setStartDate(LocalDate.of(2023, 1, 1).plusDays(i));
+            project.setDepartment(departments.get(i % departments.size()));
+            projects.add(project);
+        }
+
+        List<Employee> employees = new ArrayList<>(size);
+        Map<Long, List<Object[]>> projectRows = new HashMap<>();
+        Map<Long, Object[]> latestScoreRows = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName("Employee " + id);
+            employee.setEmail("employee" + id + "@company.com");
+            employee.setDepartment(departments.get(random.nextInt(departments.size())));
+            employee.setDateOfJoining(LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000)));
+            employee.setSalary(40_000.0 + random.nextInt(120_000));
+            // Roughly one manager per ten employees, always someone generated earlier
+            if (i >= 10) {
+                employee.setManager(employees.get(random.nextInt(i / 10 + 1)));
+            }
+
+            List<Object[]> rows = new ArrayList<>();
+            for (int p = 0; p < projectsPerEmployee; p++) {
+                Project project = projects.get(random.nextInt(projects.size()));
+                EmployeeProject assignment = new EmployeeProject();
+                assignment.setId(id * projectsPerEmployee + p);
+                assignment.setEmployee(employee);
+                assignment.setProject(project);
+                assignment.setAssignedDate(project.getStartDate());
+                assignment.setRole(p == 0 ? "Lead" : "Developer");
+                employee.getEmployeeProjects().add(assignment);
+                rows.add(new Object[]{id, project.getName()});
+            }
+            projectRows.put(id, rows);
+
+            LocalDate reviewDate = LocalDate.of(2024, 1, 1);
+            for (int r = 0; r < REVIEWS_PER_EMPLOYEE; r++) {
+                PerformanceReview review = new PerformanceReview();
+                review.setId(id * REVIEWS_PER_EMPLOYEE + r);
+                review.setEmployee(employee);
+                review.setReviewDate(reviewDate.minusMonths(3L * r));
+                review.setScore(Math.round((1.0 + random.nextDouble() * 4.0) * 100) / 100.0);
+                review.setReviewComments("Quarterly review " + r + " for employee " + id);
+                employee.getPerformanceReviews().add(review);
+            }
+            latestScoreRows.put(id, new Object[]{id, employee.getPerformanceReviews().get(0).getScore()});
+
+            employees.add(employee);
+        }
+        return new SyntheticDataset(employees, projectRows, latestScoreRows);
+    }
+
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    // The rows the projection query would return, before projects and scores are attached
+    public List<EmployeeResponseDTO> responseRows() {
+        List<EmployeeResponseDTO> rows = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            EmployeeResponseDTO dto = new EmployeeResponseDTO();
+            dto.setId(employee.getId());
+            dto.setName(employee.getName());
+            dto.setEmail(employee.getEmail());
+            dto.setDepartmentName(employee.getDepartment().getName());
+            dto.setDateOfJoining(employee.getDateOfJoining());
+            dto.setSalary(employee.getSalary());
+            if (employee.getManager() != null) {
+                dto.setManagerName(employee.getManager().getName());
+            }
+            rows.add(dto);
+        }
+        return rows;
+    }
+
+    // Fully populated response DTOs, as serialized by the controller
+    public List<EmployeeResponseDTO> responses() {
+        List<EmployeeResponseDTO> rows = responseRows();
+        for (EmployeeResponseDTO dto : rows) {
+            dto.setProjectNames(new ArrayList<>(employees.get((int) (dto.getId() - 1)).getProjectNames()));
+            dto.setLastPerformanceScore(((Number) latestScoreRowByEmployee.get(dto.getId())[1]).doubleValue());
+        }
+        return rows;
+    }
+
+    public List<Object[]> projectRows(Collection<Long> employeeIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : employeeIds) {
+            rows.addAll(projectRowsByEmployee.getOrDefault(id, List.of()));
+        }
+        return rows;
+    }
+
+    public List<Object[]> latestScoreRows(Collection<Long> employeeIds) {
+        List<Object[]> rows = new ArrayList<>(employeeIds.size());
+        for (Long id : employeeIds) {
+            Object[] row = latestScoreRowByEmployee.get(id);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    // Repository stand-in backed by the dataset. Abstract methods are answered by name, default
+    // methods run their real implementation, and anything unexpected fails loudly.
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> repositoryType.getSimpleName() + " stub";
+                };
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        };
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler);
+    }
+}
@@ -0,0 +1,79 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.benchmark.SyntheticDataset;
+import com.assignment.employeemanagement.dto.EmployeeDetailDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.repositories.EmployeeRepository;
+import com.assignment.employeemanagement.repositories.PerformanceReviewRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the services package to reach the package-private mapping steps of EmployeeService.
+// Repositories are answered from memory, so the numbers exclude database time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceMappingBenchmark {
+
+    @Param({"500", "5000", "50000"})
+    private int size;
+
+    @Param({"3"})
+    private int projectsPerEmployee;
+
+    private EmployeeService employeeService;
+    private List<EmployeeResponseDTO> responseRows;
+    private List<Employee> employees;
+    private List<List<Object[]>> lastReviews;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        SyntheticDataset dataset = SyntheticDataset.generate(size, projectsPerEmployee, 42L);
+
+        EmployeeRepository employeeRepository = SyntheticDataset.stub(EmployeeRepository.class, Map.of(
+                "findProjectNamesByEmployeeIds", args -> dataset.projectRows((Collection<Long>) args[0])));
+        PerformanceReviewRepository reviewRepository = SyntheticDataset.stub(PerformanceReviewRepository.class, Map.of(
+                "findLatestScoreRows", args -> dataset.latestScoreRows((Collection<Long>) args[0])));
+
+        employeeService = new EmployeeService();
+        ReflectionTestUtils.setField(employeeService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(employeeService, "reviewRepository", reviewRepository);
+
+        responseRows = dataset.responseRows();
+        employees = dataset.employees();
+        lastReviews = employees.stream()
+                .map(employee -> employee.getPerformanceReviews().subList(0, 3).stream()
+                        .map(review -> new Object[]{employee.getId(), review.getId(), review.getReviewDate(),
+                                review.getScore(), review.getReviewComments()})
+                        .toList())
+                .toList();
+    }
+
+    // Replaces the old per-employee convertToResponseDTO: projects and latest scores for a page
+    @Benchmark
+    public List<EmployeeResponseDTO> attachProjectsAndScores() {
+        employeeService.attachProjectsAndScores(responseRows);
+        return responseRows;
+    }
+
+    // The EmployeeDetailDTO mapping done by getEmployeeById, once per employee
+    @Benchmark
+    public void toDetailDTO(Blackhole blackhole) {
+        for (int i = 0; i < employees.size(); i++) {
+            EmployeeDetailDTO dto = employeeService.toDetailDTO(
+                    employees.get(i), lastReviews.get(i), employees.get(i).getProjectNames());
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.assignment.employeemanagement.loadtest;
+
+import com.assignment.employeemanagement.loadtest.SyntheticDataGenerator.GeneratedDataset;
+import com.assignment.employeemanagement.services.PageCursor;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+// One kind of request the harness drives: a name for the report, the Accept header and a path
+// with randomized parameter values drawn from the generated dataset
+public final class FilterShape {
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final String name;
+    private final String accept;
+    private final BiFunction<GeneratedDataset, Random, String> path;
+
+    private FilterShape(String name, String accept, BiFunction<GeneratedDataset, Random, String> path) {
+        this.name = name;
+        this.accept = accept;
+        this.path = path;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAccept() {
+        return accept;
+    }
+
+    public String path(GeneratedDataset dataset, Random random) {
+        return path.apply(dataset, random);
+    }
+
+    public static List<FilterShape> defaults(int limit) {
+        String page = "/api/employees?limit=" + limit;
+        return List.of(
+                new FilterShape("unfiltered", JSON, (data, random) -> page),
+                new FilterShape("deep-page", JSON, (data, random) ->
+                        page + "&cursor=" + PageCursor.encode(random.nextInt(data.getEmployees()))),
+                new FilterShape("department", JSON, (data, random) ->
+                        page + param("departments", pick(data.getDepartmentNames(), random))),
+                new FilterShape("project", JSON, (data, random) ->
+                        page + param("projects", pick(data.getProjectNames(), random))),
+                new FilterShape("departments+projects", JSON, (data, random) ->
+                        page + param("departments", pick(data.getDepartmentNames(), random))
+                                + param("departments", pick(data.getDepartmentNames(), random))
+                                + param("projects", pick(data.getProjectNames(), random))),
+                new FilterShape("reviewDate+scoreRange", JSON, (data, random) -> {
+                    double minScore = 1.0 + random.nextInt(30) / 10.0;
+                    return page + param("reviewDate", pickDate(data, random))
+                            + param("minScore", minScore) + param("maxScore", minScore + 0.5);
+                }),
+                new FilterShape("reviewDate+score", JSON, (data, random) ->
+                        page + param("reviewDate", pickDate(data, random))
+                                + param("score", (200 + random.nextInt(250)) / 100.0)),
+                new FilterShape("combined", JSON, (data, random) ->
+                        page + param("departments", pick(data.getDepartmentNames(), random))
+                                + param("projects", pick(data.getProjectNames(), random))
+                                + param("reviewDate", pickDate(data, random))
+                                + param("minScore", 3.0)),
+                new FilterShape("detail", JSON, (data, random) ->
+                        "/api/employees/" + (1 + random.nextInt(data.getEmployees()))),
+                // Low ids are near the top of the generated manager tree
+                new FilterShape("reports", JSON, (data, random) ->
+                        "/api/employees/" + (1 + random.nextInt(Math.min(1_000, data.getEmployees())))
+                                + "/reports?maxDepth=5"),
+                new FilterShape("ndjson-project", NDJSON, (data, random) ->
+                        "/api/employees?" + param("projects", pick(data.getProjectNames(), random)).substring(1)));
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static LocalDate pickDate(GeneratedDataset dataset, Random random) {
+        return dataset.getReviewDates().get(random.nextInt(dataset.getReviewDates().size()));
+    }
+
+    private static String param(String name, Object value) {
+        return "&" + name + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,156 @@
+package com.assignment.employeemanagement.loadtest;
+
+import com.assignment.employeemanagement.loadtest.SyntheticDataGenerator.GeneratedDataset;
+import lombok.Data;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+// Closed-loop load: each worker sends its next request as soon as the previous response body has
+// been fully read. Shapes run one after another so every shape gets the whole server.
+@Slf4j
+public class LoadHarness {
+    private final HttpClient client;
+    private final String baseUrl;
+    private final GeneratedDataset dataset;
+    private final Settings settings;
+
+    public LoadHarness(String baseUrl, GeneratedDataset dataset, Settings settings) {
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.settings = settings;
+    }
+
+    public List<ShapeResult> run(List<FilterShape> shapes) throws InterruptedException {
+        List<ShapeResult> results = new ArrayList<>();
+        for (FilterShape shape : shapes) {
+            drive(shape, settings.getWarmup(), 1);
+            ShapeResult result = drive(shape, settings.getDuration(), 2);
+            log.info("{}", result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    private ShapeResult drive(FilterShape shape, Duration duration, long seedOffset) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getConcurrency());
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int w = 0; w < settings.getConcurrency(); w++) {
+            Random random = new Random(seedOffset * 1_000 + w);
+            futures.add(workers.submit(() -> {
+                Recorder recorder = new Recorder();
+                while (System.nanoTime() < deadline) {
+                    send(shape, random, recorder);
+                }
+                return recorder;
+            }));
+        }
+
+        Recorder total = new Recorder();
+        try {
+            for (Future<Recorder> future : futures) {
+                total.merge(future.get());
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Load worker failed for " + shape.getName(), ex.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return total.summarize(shape.getName(), duration);
+    }
+
+    private void send(FilterShape shape, Random random, Recorder recorder) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + shape.path(dataset, random)))
+                .header("Accept", shape.getAccept())
+                .timeout(settings.getRequestTimeout())
+                .GET()
+                .build();
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - started, response.statusCode() < 400);
+        } catch (IOException ex) {
+            recorder.record(System.nanoTime() - started, false);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Latencies of successful requests in nanoseconds, per worker, merged after the run
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, boolean success) {
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        ShapeResult summarize(String shape, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new ShapeResult(shape, count, errors,
+                    count / (duration.toNanos() / 1e9),
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        // Nearest-rank percentile
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+
+    @Data
+    public static class Settings {
+        private int concurrency = 16;
+        private Duration warmup = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofSeconds(30);
+        private Duration requestTimeout = Duration.ofMinutes(2);
+        private int pageLimit = 100;
+        private String report = "target/loadtest-report.json";
+    }
+
+    @Value
+    public static class ShapeResult {
+        String shape;
+        int requests;
+        int errors;
+        double throughputPerSecond;
+        double p50Millis;
+        double p99Millis;
+        double maxMillis;
+    }
+}
@@ -0,0 +1,81 @@
+package com.assignment.employeemanagement.loadtest;
+
+import com.assignment.employeemanagement.EmployeePerformanceManagementSystemApplication;
+import com.assignment.employeemanagement.loadtest.LoadHarness.ShapeResult;
+import com.assignment.employeemanagement.loadtest.SyntheticDataGenerator.GeneratedDataset;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Starts the application under the loadtest profile, seeds it with synthetic data and drives the
+// real endpoints over HTTP. Any loadtest.* or spring.* property can be overridden as --name=value.
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(args);
+    }
+
+    // One complete run: start, seed, drive, print and write the report, then shut down
+    static List<ShapeResult> run(String[] args, String... additionalProfiles) throws Exception {
+        String[] profiles = new String[additionalProfiles.length + 1];
+        profiles[0] = "loadtest";
+        System.arraycopy(additionalProfiles, 0, profiles, 1, additionalProfiles.length);
+
+        try (ConfigurableApplicationContext context =
+                     new SpringApplicationBuilder(EmployeePerformanceManagementSystemApplication.class)
+                             .profiles(profiles)
+                             .run(args)) {
+            Environment environment = context.getEnvironment();
+            Binder binder = Binder.get(environment);
+            SyntheticDataGenerator.Settings dataSettings = binder.bind("loadtest.data",
+                    SyntheticDataGenerator.Settings.class).orElseGet(SyntheticDataGenerator.Settings::new);
+            LoadHarness.Settings runSettings = binder.bind("loadtest.run",
+                    LoadHarness.Settings.class).orElseGet(LoadHarness.Settings::new);
+
+            GeneratedDataset dataset = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), dataSettings)
+                    .generate();
+
+            String baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+            List<ShapeResult> results = new LoadHarness(baseUrl, dataset, runSettings)
+                    .run(FilterShape.defaults(runSettings.getPageLimit()));
+
+            printTable(results);
+            writeReport(context.getBean(ObjectMapper.class), runSettings, dataSettings, results);
+            return results;
+        }
+    }
+
+    private static void printTable(List<ShapeResult> results) {
+        System.out.printf("%n%-24s %10s %8s %12s %10s %10s %10s%n",
+                "shape", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (ShapeResult result : results) {
+            System.out.printf("%-24s %10d %8d %12.1f %10.2f %10.2f %10.2f%n",
+                    result.getShape(), result.getRequests(), result.getErrors(), result.getThroughputPerSecond(),
+                    result.getP50Millis(), result.getP99Millis(), result.getMaxMillis());
+        }
+    }
+
+    private static void writeReport(ObjectMapper objectMapper, LoadHarness.Settings runSettings,
+                                    SyntheticDataGenerator.Settings dataSettings,
+                                    List<ShapeResult> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("data", dataSettings);
+        report.put("run", runSettings);
+        report.put("results", results);
+        File file = new File(runSettings.getReport()).getAbsoluteFile();
+        file.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,222 @@
+package com.assignment.employeemanagement.loadtest;
+
+import lombok.Data;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// Seeds the schema through batched JDBC inserts with explicit ids, so a million employees load
+// without going through the persistence context. Department and project popularity follow Zipf
+// distributions, and manager chains can be made arbitrarily deep.
+@Slf4j
+public class SyntheticDataGenerator {
+    private static final LocalDate LATEST_REVIEW_DATE = LocalDate.of(2025, 1, 1);
+    private static final String[] ROLES = {"Developer", "Lead", "Analyst", "Tester", "Architect", "Manager"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Settings settings;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+    }
+
+    public GeneratedDataset generate() {
+        long started = System.nanoTime();
+        Random random = new Random(settings.getSeed());
+
+        List<String> departmentNames = insertDepartments(random);
+        List<String> projectNames = insertProjects(random);
+        List<LocalDate> reviewDates = new ArrayList<>();
+        for (int r = 0; r < settings.getReviewsPerEmployee(); r++) {
+            reviewDates.add(LATEST_REVIEW_DATE.minusMonths(3L * r));
+        }
+
+        int maxDepth = insertEmployees(random, reviewDates);
+
+        log.info("Generated {} employees ({} departments, {} projects, {} reviews each, manager depth {}) in {} s",
+                settings.getEmployees(), departmentNames.size(), projectNames.size(),
+                settings.getReviewsPerEmployee(), maxDepth, (System.nanoTime() - started) / 1_000_000_000);
+        return new GeneratedDataset(settings.getEmployees(), departmentNames, projectNames, reviewDates, maxDepth);
+    }
+
+    private List<String> insertDepartments(Random random) {
+        List<String> names = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 1; d <= settings.getDepartments(); d++) {
+            String name = "Department " + d;
+            names.add(name);
+            rows.add(new Object[]{(long) d, name, 100_000.0 + random.nextInt(10_000_000)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO department (id, name, budget) VALUES (?, ?, ?)", rows);
+        return names;
+    }
+
+    private List<String> insertProjects(Random random) {
+        List<String> names = new ArrayList<>();
+        BatchWriter writer = new BatchWriter(
+                "INSERT INTO project (id, name, start_date, end_date, department_id) VALUES (?, ?, ?, ?, ?)");
+        for (int p = 1; p <= settings.getProjects(); p++) {
+            String name = "Project " + p;
+            names.add(name);
+            LocalDate startDate = LATEST_REVIEW_DATE.minusDays(random.nextInt(2000));
+            LocalDate endDate = random.nextInt(4) == 0 ? startDate.plusDays(90 + random.nextInt(700)) : null;
+            writer.add((long) p, name, startDate, endDate, (long) random.nextInt(settings.getDepartments()) + 1);
+        }
+        writer.flush();
+        return names;
+    }
+
+    // Returns the deepest manager chain generated
+    private int insertEmployees(Random random, List<LocalDate> reviewDates) {
+        int employees = settings.getEmployees();
+        int roots = Math.min(settings.getDepartments(), employees);
+        int[] depth = new int[employees];
+        int maxDepth = 0;
+
+        ZipfSampler departments = new ZipfSampler(settings.getDepartments(), settings.getDepartmentSkew());
+        ZipfSampler projects = new ZipfSampler(settings.getProjects(), settings.getProjectSkew());
+
+        BatchWriter employeeWriter = new BatchWriter("INSERT INTO employee " +
+                "(id, name, email, department_id, date_of_joining, salary, manager_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        BatchWriter assignmentWriter = new BatchWriter("INSERT INTO employee_project " +
+                "(id, employee_id, project_id, assigned_date, role) VALUES (?, ?, ?, ?, ?)");
+        BatchWriter reviewWriter = new BatchWriter("INSERT INTO performance_review " +
+                "(id, employee_id, review_date, score, review_comments) VALUES (?, ?, ?, ?, ?)");
+
+        long assignmentId = 0;
+        long reviewId = 0;
+        Set<Integer> assigned = new HashSet<>();
+        for (int i = 0; i < employees; i++) {
+            long id = i + 1;
+
+            // Managers always precede their reports, so foreign keys hold within each batch
+            Long managerId = null;
+            if (i >= roots) {
+                int manager = pickManager(random, i, roots, depth);
+                depth[i] = depth[manager] + 1;
+                maxDepth = Math.max(maxDepth, depth[i]);
+                managerId = (long) manager + 1;
+            }
+            employeeWriter.add(id, "Employee " + id, "employee" + id + "@company.com",
+                    (long) departments.next(random) + 1,
+                    LATEST_REVIEW_DATE.minusDays(random.nextInt(5000)),
+                    30_000.0 + random.nextInt(170_000), managerId);
+
+            assigned.clear();
+            int projectCount = 1 + random.nextInt(settings.getMaxProjectsPerEmployee());
+            for (int p = 0; p < projectCount; p++) {
+                int project = projects.next(random);
+                if (assigned.add(project)) {
+                    assignmentWriter.add(++assignmentId, id, (long) project + 1,
+                            LATEST_REVIEW_DATE.minusDays(random.nextInt(1000)), ROLES[random.nextInt(ROLES.length)]);
+                }
+            }
+
+            for (LocalDate reviewDate : reviewDates) {
+                double score = Math.max(0.0, Math.min(5.0, 3.5 + random.nextGaussian() * 0.8));
+                reviewWriter.add(++reviewId, id, reviewDate, Math.round(score * 100) / 100.0,
+                        "Review on " + reviewDate + " for employee " + id);
+            }
+
+            // Flush parents before children so the child batches never reference unsent rows
+            if (employeeWriter.size() >= settings.getBatchSize()) {
+                employeeWriter.flush();
+                assignmentWriter.flush();
+                reviewWriter.flush();
+            }
+            if ((i + 1) % 100_000 == 0) {
+                log.info("Inserted {} of {} employees", i + 1, employees);
+            }
+        }
+        employeeWriter.flush();
+        assignmentWriter.flush();
+        reviewWriter.flush();
+        return maxDepth;
+    }
+
+    // Either extends the previous employee's chain or attaches to a random earlier employee,
+    // falling back to a root whenever the chain would exceed the configured depth
+    private int pickManager(Random random, int index, int roots, int[] depth) {
+        int candidate = random.nextDouble() < settings.getManagerChainProbability()
+                ? index - 1
+                : random.nextInt(index);
+        if (depth[candidate] >= settings.getMaxManagerDepth()) {
+            candidate = random.nextInt(roots);
+        }
+        return candidate;
+    }
+
+    private final class BatchWriter {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private BatchWriter(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void flush() {
+            for (int from = 0; from < rows.size(); from += settings.getBatchSize()) {
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + settings.getBatchSize(), rows.size())));
+            }
+            rows.clear();
+        }
+    }
+
+    // Samples 0..n-1 with probability proportional to 1 / (k + 1)^skew
+    private static final class ZipfSampler {
+        private final double[] cumulative;
+
+        private ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int k = 0; k < n; k++) {
+                total += 1.0 / Math.pow(k + 1, skew);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        int next(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    @Data
+    public static class Settings {
+        private int employees = 200_000;
+        private int departments = 50;
+        private int projects = 2_000;
+        private int reviewsPerEmployee = 20;
+        private int maxProjectsPerEmployee = 8;
+        private double departmentSkew = 1.1;
+        private double projectSkew = 1.2;
+        private int maxManagerDepth = 40;
+        private double managerChainProbability = 0.3;
+        private int batchSize = 5_000;
+        private long seed = 42;
+    }
+
+    @Value
+    public static class GeneratedDataset {
+        int employees;
+        List<String> departmentNames;
+        List<String> projectNames;
+        List<LocalDate> reviewDates;
+        int maxManagerDepth;
+    }
+}
@@ -0,0 +1,72 @@
+package com.assignment.employeemanagement.loadtest;
+
+import com.assignment.employeemanagement.loadtest.LoadHarness.ShapeResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs the load test twice with the same seed, first on Tomcat's platform worker pool and then with
+// the virtual-threads profile, and reports both side by side. Needs Java 21. Concurrency should
+// exceed server.tomcat.threads.max (200) for the difference to show, e.g. --loadtest.run.concurrency=400.
+// Against H2 the virtual-thread run also measures H2's own locking; point spring.datasource.* at
+// MySQL for representative numbers.
+public final class ThreadModelComparison {
+
+    private ThreadModelComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            System.err.println("Virtual threads need Java 21; build and run with -Pjava21");
+            System.exit(1);
+        }
+
+        List<ShapeResult> platform = LoadTestRunner.run(withArgs(args,
+                "--spring.threads.virtual.enabled=false",
+                "--loadtest.run.report=target/loadtest-report-platform.json"));
+        List<ShapeResult> virtual = LoadTestRunner.run(withArgs(args,
+                "--loadtest.run.report=target/loadtest-report-virtual.json"), "virtual-threads");
+
+        List<Map<String, Object>> comparison = new ArrayList<>();
+        System.out.printf("%n%-24s %14s %14s %12s %12s %12s %12s%n", "shape",
+                "platform req/s", "virtual req/s", "platform p50", "virtual p50", "platform p99", "virtual p99");
+        for (int i = 0; i < platform.size(); i++) {
+            ShapeResult before = platform.get(i);
+            ShapeResult after = virtual.get(i);
+            System.out.printf("%-24s %14.1f %14.1f %12.2f %12.2f %12.2f %12.2f%n", before.getShape(),
+                    before.getThroughputPerSecond(), after.getThroughputPerSecond(),
+                    before.getP50Millis(), after.getP50Millis(), before.getP99Millis(), after.getP99Millis());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("shape", before.getShape());
+            row.put("platform", before);
+            row.put("virtual", after);
+            row.put("throughputRatio", after.getThroughputPerSecond() / Math.max(before.getThroughputPerSecond(), 1e-9));
+            row.put("p99Ratio", after.getP99Millis() / Math.max(before.getP99Millis(), 1e-9));
+            comparison.add(row);
+        }
+
+        File file = new File("target/loadtest-thread-models.json").getAbsoluteFile();
+        file.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, comparison);
+        System.out.println("Comparison written to " + file.getAbsolutePath());
+    }
+
+    // Repeated --name=value arguments are joined with commas rather than overridden, so a default is
+    // only added when the command line does not set the same property
+    private static String[] withArgs(String[] args, String... defaults) {
+        List<String> combined = new ArrayList<>(Arrays.asList(args));
+        for (String argument : defaults) {
+            String name = argument.substring(0, argument.indexOf('=') + 1);
+            if (Arrays.stream(args).noneMatch(arg -> arg.startsWith(name))) {
+                combined.add(argument);
+            }
+        }
+        return combined.toArray(new String[0]);
+    }
+}
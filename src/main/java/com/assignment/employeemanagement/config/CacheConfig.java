@@ -0,0 +1,69 @@
+package com.assignment.employeemanagement.config;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeePageDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.services.EmployeeFilterKey;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Cache sizes and TTLs are set through spring.cache.* and employees.filter-cache.* in application.properties.
+// Every cache registered with the CacheManager is bound to the actuator cache.* metrics at startup.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EMPLOYEE_DETAILS_CACHE = "employeeDetails";
+    public static final String EMPLOYEE_FILTER_RESULTS_CACHE = "employeeFilterResults";
+
+    // Filter results vary widely in size, so this cache is bounded by estimated bytes rather than entries
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> filterResultsCacheCustomizer(
+            @Value("${employees.filter-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${employees.filter-cache.ttl:5m}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(EMPLOYEE_FILTER_RESULTS_CACHE,
+                Caffeine.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .<Object, Object>weigher((key, value) -> estimateBytes(value))
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+
+    @Bean
+    public KeyGenerator employeeFilterKeyGenerator() {
+        return (target, method, params) -> EmployeeFilterKey.of((EmployeeFilterDTO) params[0]);
+    }
+
+    // Rough heap footprint of a cached page: object headers plus compact (Latin-1) strings
+    static int estimateBytes(Object value) {
+        if (!(value instanceof EmployeePageDTO page) || page.getEmployees() == null) {
+            return 64;
+        }
+        long bytes = 64 + stringBytes(page.getNextCursor());
+        for (EmployeeResponseDTO employee : page.getEmployees()) {
+            bytes += 160
+                    + stringBytes(employee.getName())
+                    + stringBytes(employee.getEmail())
+                    + stringBytes(employee.getDepartmentName())
+                    + stringBytes(employee.getManagerName());
+            if (employee.getProjectNames() != null) {
+                for (String projectName : employee.getProjectNames()) {
+                    bytes += 8 + stringBytes(projectName);
+                }
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
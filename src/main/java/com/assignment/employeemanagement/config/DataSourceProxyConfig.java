@@ -0,0 +1,34 @@
+package com.assignment.employeemanagement.config;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Routes every JDBC statement, from Hibernate and from the JdbcTemplate repositories alike, through the
+// QueryExecutionListener beans: JdbcStatementListener for the per-request statement metrics, and
+// SlowQueryLogListener when employees.slow-query-log.enabled is set.
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Static, as post-processors are created before the other beans of this class
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder proxy = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                    listeners.orderedStream().forEach(proxy::listener);
+                    return proxy.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
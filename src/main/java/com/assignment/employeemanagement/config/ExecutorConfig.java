@@ -0,0 +1,48 @@
+package com.assignment.employeemanagement.config;
+
+import com.assignment.employeemanagement.metrics.RequestQueryStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Bounded executors for work a request fans out. Each concurrent part holds its own connection, so
+// employees.detail.fan-out.pool-size should stay well below the Hikari pool size.
+@Configuration
+public class ExecutorConfig {
+    public static final String EMPLOYEE_DETAIL_EXECUTOR = "employeeDetailExecutor";
+
+    // When the pool and queue are full the request thread loads the part itself, so overload falls
+    // back to sequential loading instead of rejecting requests
+    @Bean(EMPLOYEE_DETAIL_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor employeeDetailExecutor(
+            @Value("${employees.detail.fan-out.pool-size:32}") int poolSize,
+            @Value("${employees.detail.fan-out.queue-capacity:512}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("employee-detail-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(RequestQueryStats::propagate);
+        return executor;
+    }
+
+    // Virtual threads are cheap to create, so only the number of parts running at once is bounded
+    @Bean(EMPLOYEE_DETAIL_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor employeeDetailVirtualExecutor(
+            @Value("${employees.detail.fan-out.pool-size:32}") int poolSize) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("employee-detail-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(poolSize);
+        executor.setTaskDecorator(RequestQueryStats::propagate);
+        return executor;
+    }
+}
@@ -0,0 +1,353 @@
+package com.assignment.employeemanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Compresses JSON, NDJSON and Smile responses with the first of employees.compression.encodings the
+// client accepts. The first min-response-size bytes are held back: smaller bodies go out unchanged,
+// larger ones are compressed as they are written, so streamed responses stay streamed. Replaces
+// Tomcat's server.compression, which is gzip-only at a fixed level.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "employees.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    private static final String WRAPPER_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".WRAPPER";
+
+    @Value("${employees.compression.encodings:gzip,deflate}")
+    private List<ResponseEncoding> encodings;
+
+    @Value("${employees.compression.level:6}")
+    private int level;
+
+    @Value("${employees.compression.min-response-size:2048}")
+    private int minResponseSize;
+
+    @Value("${employees.compression.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${employees.compression.mime-types:application/json,application/x-ndjson,application/x-jackson-smile}")
+    private List<MediaType> mimeTypes;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Streaming bodies are written on an async thread and come back through here on the async dispatch
+        CompressingResponse compressing = (CompressingResponse) request.getAttribute(WRAPPER_ATTRIBUTE);
+        HttpServletResponse target = response;
+        if (compressing == null && !isAsyncDispatch(request)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            ResponseEncoding encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (encoding != null && !"HEAD".equals(request.getMethod())) {
+                compressing = new CompressingResponse(response, encoding);
+                request.setAttribute(WRAPPER_ATTRIBUTE, compressing);
+                target = compressing;
+            }
+        }
+
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            if (compressing != null && !request.isAsyncStarted()) {
+                compressing.finish();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    // Server preference order among the codings the client accepts with q > 0
+    ResponseEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        Map<String, Double> accepted = new HashMap<>();
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            accepted.put(parts[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+        for (ResponseEncoding encoding : encodings) {
+            Double quality = accepted.getOrDefault(encoding.token(), accepted.get("*"));
+            if (quality != null && quality > 0) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    // Holds the body back until it reaches minResponseSize (or ends), then picks compressed or plain
+    // output once. Content-Length is withheld until then, since compressing changes it.
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+        private final ResponseEncoding encoding;
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private OutputStream body;
+        private boolean compressed;
+        private boolean finished;
+        private long declaredLength = -1;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse response, ResponseEncoding encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        CompressingResponse.this.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        if (body != null && !finished) {
+                            body.flush();
+                        }
+                    }
+
+                    // Streaming bodies close their generator, and with it this stream, when done
+                    @Override
+                    public void close() throws IOException {
+                        finish();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return body == null || CompressingResponse.this.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        nonBlocking(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            // Committing the headers now would settle the coding before the size is known
+            if (body != null && !finished) {
+                body.flush();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (body == null) {
+                declaredLength = len;
+            } else if (!compressed) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            pending = new ByteArrayOutputStream();
+            body = null;
+            compressed = false;
+            declaredLength = -1;
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (body == null) {
+                pending.reset();
+            } else if (compressed) {
+                // The discarded bytes included the encoder's header; Content-Encoding is still set
+                try {
+                    body = encoding.encode(super.getOutputStream(), level, bufferSize);
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+
+        private boolean isReady() {
+            try {
+                return super.getOutputStream().isReady();
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        // Non-blocking writers go straight to the container's stream, uncompressed unless compression
+        // has already started, so isReady and onWritePossible keep their meaning
+        private void nonBlocking(WriteListener writeListener) {
+            try {
+                if (body == null) {
+                    start(false);
+                }
+                super.getOutputStream().setWriteListener(writeListener);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                throw new IOException("Response already finished");
+            }
+            if (body == null) {
+                if (declaredLength >= 0) {
+                    start(declaredLength >= minResponseSize);
+                } else if (pending.size() + len >= minResponseSize) {
+                    start(true);
+                } else {
+                    pending.write(b, off, len);
+                    return;
+                }
+            }
+            body.write(b, off, len);
+        }
+
+        private void start(boolean largeEnough) throws IOException {
+            compressed = largeEnough && isCompressible(getContentType()) && !containsHeader(HttpHeaders.CONTENT_ENCODING);
+            if (compressed) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+                body = encoding.encode(super.getOutputStream(), level, bufferSize);
+            } else {
+                if (declaredLength >= 0) {
+                    super.setContentLengthLong(declaredLength);
+                }
+                body = super.getOutputStream();
+            }
+            pending.writeTo(body);
+            pending = null;
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            finished = true;
+            if (body == null) {
+                // Bodiless responses such as 304 Not Modified are left alone
+                if (pending.size() == 0 && declaredLength < 0) {
+                    return;
+                }
+                start(false);
+            }
+            if (compressed) {
+                body.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.assignment.employeemanagement.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Content codings ResponseCompressionFilter can produce. Encoders sync-flush, so a flushed streaming
+// response reaches the client without waiting for the next full block.
+public enum ResponseEncoding {
+    GZIP("gzip") {
+        @Override
+        public OutputStream encode(OutputStream out, int level, int bufferSize) throws IOException {
+            return new GZIPOutputStream(out, bufferSize, true) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+    },
+    // zlib format, which is what HTTP calls deflate
+    DEFLATE("deflate") {
+        @Override
+        public OutputStream encode(OutputStream out, int level, int bufferSize) {
+            Deflater deflater = new Deflater(level);
+            return new DeflaterOutputStream(out, deflater, bufferSize, true) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+    };
+
+    private final String token;
+
+    ResponseEncoding(String token) {
+        this.token = token;
+    }
+
+    // The Content-Encoding / Accept-Encoding token
+    public String token() {
+        return token;
+    }
+
+    // Closing the returned stream writes the trailer and closes out
+    public abstract OutputStream encode(OutputStream out, int level, int bufferSize) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.assignment.employeemanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background refresh of in-memory read models (see PerformanceAggregateService), on a pool of
+// spring.task.scheduling.pool.size threads
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
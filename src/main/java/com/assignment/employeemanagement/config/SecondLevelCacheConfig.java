@@ -0,0 +1,62 @@
+package com.assignment.employeemanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Hibernate second-level cache regions for the Department/Project reference data. The regions are
+// created here rather than in a Caffeine config file so that their size and TTL come from
+// employees.reference-cache.* like the other caches. Hit/miss counts are exposed as hibernate.* metrics.
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String DEPARTMENT_REGION = "department";
+    public static final String PROJECT_REGION = "project";
+    public static final String REFERENCE_QUERY_REGION = "referenceDataQueries";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${employees.reference-cache.max-entries:10000}") long maxEntries,
+            @Value("${employees.reference-cache.ttl:1h}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : new String[]{DEPARTMENT_REGION, PROJECT_REGION, REFERENCE_QUERY_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            createIfAbsent(cacheManager, region, configuration);
+        }
+        // The query cache checks results against the last update of each table they read, so these
+        // entries are never evicted
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    // The provider's default CacheManager is shared by every application context in the JVM (e.g. tests)
+    private static void createIfAbsent(CacheManager cacheManager, String region,
+                                       CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
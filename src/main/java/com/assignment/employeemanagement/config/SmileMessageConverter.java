@@ -0,0 +1,30 @@
+package com.assignment.employeemanagement.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+// Binary JSON (Smile) for clients sending Accept: application/x-jackson-smile. Field names and string
+// values up to 64 bytes go into shared tables of at most 1024 entries each, and repeats are written as
+// back-references. A table is cleared when it fills up: with a unique name and email on every row, a
+// department, manager or project name is written out again about every 500 rows. This is not a
+// per-response dictionary of those names; the response keeps the List<EmployeeResponseDTO> shape of the
+// JSON body. Dates are written as [year, month, day] numbers instead of ISO strings. Like the JSON
+// converter, the generator writes straight to the response output stream.
+@Component
+public class SmileMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    public SmileMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(builder.factory(SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+}
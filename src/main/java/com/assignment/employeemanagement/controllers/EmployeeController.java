@@ -1,13 +1,24 @@
 package com.assignment.employeemanagement.controllers;
 
+import com.assignment.employeemanagement.config.SmileMessageConverter;
 import com.assignment.employeemanagement.dto.*;
-import com.assignment.employeemanagement.entities.Employee;
 import com.assignment.employeemanagement.services.EmployeeService;
+import com.assignment.employeemanagement.services.EmployeeVersions;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,42 +26,168 @@ import java.util.List;
 @RequestMapping("/api/employees")
 @CrossOrigin(origins = "*")
 public class EmployeeController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private EmployeeService employeeService;
 
-    @GetMapping
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    // JSON by default; Accept: application/x-jackson-smile selects the compact binary encoding.
+    // A matching If-None-Match gets a 304 without querying anything
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, SmileMessageConverter.SMILE_VALUE})
     public ResponseEntity<List<EmployeeResponseDTO>> getEmployeesWithFilters(
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(required = false) List<String> projects,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) Double score,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+
+        EmployeeFilterDTO filterDTO = toFilter(departments, projects, reviewDate, minScore, maxScore, score);
+        filterDTO.setLimit(limit);
+        filterDTO.setCursor(cursor);
+
+        // Tagged before loading, so a change committed meanwhile only makes the tag older than the body
+        if (webRequest.checkNotModified(employeeVersions.listETag(filterDTO, accept))) {
+            return null;
+        }
+
+        EmployeePageDTO page = employeeService.getEmployeesWithFilters(filterDTO);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getEmployees());
+    }
+
+    // Opt-in unpaged mode: one JSON document per line, written as rows are read from the database
+    @GetMapping(produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesWithFilters(
             @RequestParam(required = false) List<String> departments,
             @RequestParam(required = false) List<String> projects,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate,
             @RequestParam(required = false) Double minScore,
             @RequestParam(required = false) Double maxScore,
             @RequestParam(required = false) Double score) {
-        
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(departments);
-        filterDTO.setProjects(projects);
-        filterDTO.setReviewDate(reviewDate);
-        filterDTO.setMinScore(minScore);
-        filterDTO.setMaxScore(maxScore);
-        filterDTO.setScore(score);
-        
-        List<EmployeeResponseDTO> employees = employeeService.getEmployeesWithFilters(filterDTO);
-        return ResponseEntity.ok(employees);
+
+        EmployeeFilterDTO filterDTO = toFilter(departments, projects, reviewDate, minScore, maxScore, score);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                employeeService.streamEmployeesWithFilters(filterDTO, employee -> {
+                    try {
+                        writer.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    // Details for many employees in one round trip; unknown ids are listed in missingIds
+    @GetMapping("/batch")
+    public ResponseEntity<EmployeeBatchDTO> getEmployeesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDetailDTO> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<EmployeeDetailDTO> getEmployeeById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(employeeVersions.detailETag(id, accept))) {
+            return null;
+        }
         EmployeeDetailDTO employee = employeeService.getEmployeeById(id);
         return ResponseEntity.ok(employee);
     }
 
-    // Legacy endpoint for backward compatibility
+    // Everyone under the manager, direct reports first; filters select rows without pruning the tree
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<List<EmployeeReportDTO>> getReports(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer maxDepth,
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) Double score) {
+
+        EmployeeFilterDTO filterDTO = toFilter(departments, null, reviewDate, minScore, maxScore, score);
+        return ResponseEntity.ok(employeeService.getReports(id, maxDepth, filterDTO));
+    }
+
+    // Best n scores, optionally on one reviewDate; without it employees are ranked by their latest review
+    @GetMapping("/top")
+    public ResponseEntity<List<RankedEmployeeDTO>> getTopPerformers(
+            @RequestParam(required = false) Integer n,
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(required = false) List<String> projects,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate) {
+
+        EmployeeFilterDTO filterDTO = toFilter(departments, projects, reviewDate, null, null, null);
+        return ResponseEntity.ok(employeeService.getRankedEmployees(filterDTO, n, true));
+    }
+
+    @GetMapping("/bottom")
+    public ResponseEntity<List<RankedEmployeeDTO>> getBottomPerformers(
+            @RequestParam(required = false) Integer n,
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(required = false) List<String> projects,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate) {
+
+        EmployeeFilterDTO filterDTO = toFilter(departments, projects, reviewDate, null, null, null);
+        return ResponseEntity.ok(employeeService.getRankedEmployees(filterDTO, n, false));
+    }
+
+    // Legacy endpoint for backward compatibility: a JSON array of the fields the Employee entity
+    // used to serialize to, written as rows are read
     @GetMapping("/legacy")
-    public ResponseEntity<List<Employee>> getEmployees(
+    public ResponseEntity<StreamingResponseBody> getEmployees(
             @RequestParam(required = false) List<String> departments,
             @RequestParam(required = false) List<String> projects) {
-        List<Employee> employees = employeeService.getEmployees(departments, projects);
-        return ResponseEntity.ok(employees);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                employeeService.streamLegacyEmployees(departments, projects, employee -> {
+                    try {
+                        writer.writeValue(generator, employee);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private EmployeeFilterDTO toFilter(List<String> departments, List<String> projects, LocalDate reviewDate,
+                                       Double minScore, Double maxScore, Double score) {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(departments);
+        filterDTO.setProjects(projects);
+        filterDTO.setReviewDate(reviewDate);
+        filterDTO.setMinScore(minScore);
+        filterDTO.setMaxScore(maxScore);
+        filterDTO.setScore(score);
+        return filterDTO;
     }
 }
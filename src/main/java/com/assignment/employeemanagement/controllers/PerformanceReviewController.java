@@ -0,0 +1,70 @@
+package com.assignment.employeemanagement.controllers;
+
+import com.assignment.employeemanagement.dto.ReviewImportResultDTO;
+import com.assignment.employeemanagement.dto.ScoreHistogramDTO;
+import com.assignment.employeemanagement.dto.ScoreRangeDTO;
+import com.assignment.employeemanagement.services.ReviewImportReader;
+import com.assignment.employeemanagement.services.ReviewImportService;
+import com.assignment.employeemanagement.services.ScoreIndexService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/performance-reviews")
+@CrossOrigin(origins = "*")
+public class PerformanceReviewController {
+    public static final String CSV_VALUE = "text/csv";
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private ScoreIndexService scoreIndexService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The body is read as it arrives rather than bound to a request object
+    @PostMapping(value = "/bulk", consumes = CSV_VALUE)
+    public ResponseEntity<ReviewImportResultDTO> importCsv(HttpServletRequest request) throws IOException {
+        try (ReviewImportReader reader = ReviewImportReader.csv(request.getInputStream())) {
+            return toResponse(reviewImportService.importReviews(reader));
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = EmployeeController.NDJSON_VALUE)
+    public ResponseEntity<ReviewImportResultDTO> importNdjson(HttpServletRequest request) throws IOException {
+        try (ReviewImportReader reader = ReviewImportReader.ndjson(request.getInputStream(), objectMapper)) {
+            return toResponse(reviewImportService.importReviews(reader));
+        }
+    }
+
+    // Both read the in-memory score index; reviewDate defaults to the latest review date
+    @GetMapping("/histogram")
+    public ResponseEntity<ScoreHistogramDTO> getHistogram(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate,
+            @RequestParam(required = false) Double bucketWidth) {
+        return ResponseEntity.ok(scoreIndexService.getHistogram(reviewDate, bucketWidth));
+    }
+
+    @GetMapping("/score-range")
+    public ResponseEntity<ScoreRangeDTO> getEmployeesInRange(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore) {
+        return ResponseEntity.ok(scoreIndexService.getEmployeesInRange(reviewDate, minScore, maxScore));
+    }
+
+    private ResponseEntity<ReviewImportResultDTO> toResponse(ReviewImportResultDTO result) {
+        HttpStatus status = result.isCompleted() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(result);
+    }
+}
@@ -0,0 +1,26 @@
+package com.assignment.employeemanagement.controllers;
+
+import com.assignment.employeemanagement.dto.ScoreStatsDTO;
+import com.assignment.employeemanagement.services.PerformanceAggregateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/projects")
+@CrossOrigin(origins = "*")
+public class ProjectController {
+    @Autowired
+    private PerformanceAggregateService aggregateService;
+
+    // Served from the in-memory rollup; new reviews appear after the next refresh
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ScoreStatsDTO> getProjectStats(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reviewDate) {
+        return ResponseEntity.ok(aggregateService.getProjectStats(id, reviewDate));
+    }
+}
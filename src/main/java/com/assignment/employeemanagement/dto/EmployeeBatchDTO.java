@@ -0,0 +1,10 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class EmployeeBatchDTO {
+    private List<EmployeeDetailDTO> employees;
+    private List<Long> missingIds;
+}
@@ -19,4 +19,8 @@ public class EmployeeFilterDTO {
     
     // New field for simple score filtering
     private Double score;
+    
+    // Keyset pagination: opaque cursor from the previous page and page size
+    private String cursor;
+    private Integer limit;
 }
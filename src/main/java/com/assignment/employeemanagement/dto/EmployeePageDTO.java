@@ -0,0 +1,17 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDTO {
+    private List<EmployeeResponseDTO> employees;
+    
+    // Opaque cursor for the next page, null on the last page
+    private String nextCursor;
+}
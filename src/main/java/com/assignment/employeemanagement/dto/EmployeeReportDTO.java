@@ -0,0 +1,14 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+// An employee in a manager's subtree; depth 1 is a direct report
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class EmployeeReportDTO extends EmployeeResponseDTO {
+    private Long managerId;
+    private int depth;
+}
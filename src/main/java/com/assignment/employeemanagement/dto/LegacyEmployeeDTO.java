@@ -0,0 +1,20 @@
+package com.assignment.employeemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Shape of /api/employees/legacy: the scalar Employee fields and projectNames, with the names
+// and order the entity serialized them in
+@Data
+@JsonPropertyOrder({"id", "name", "email", "dateOfJoining", "salary", "projectNames"})
+public class LegacyEmployeeDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private LocalDate dateOfJoining;
+    private Double salary;
+    private List<String> projectNames;
+}
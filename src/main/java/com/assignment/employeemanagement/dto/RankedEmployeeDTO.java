@@ -0,0 +1,19 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+// An employee in a top-N or bottom-N list; rank 1 is the best (or worst) score
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class RankedEmployeeDTO extends EmployeeResponseDTO {
+    private int rank;
+    private Double rankedScore;
+
+    // Null when employees were ranked by their latest review
+    private LocalDate reviewDate;
+}
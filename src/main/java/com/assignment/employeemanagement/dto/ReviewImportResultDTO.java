@@ -0,0 +1,31 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReviewImportResultDTO {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private int chunksCommitted;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private boolean completed;
+    // Set when a chunk failed to write; earlier chunks stay committed
+    private String failure;
+    // The first rejected rows only; rowsRejected has the full count
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
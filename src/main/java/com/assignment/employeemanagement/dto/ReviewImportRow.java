@@ -0,0 +1,19 @@
+package com.assignment.employeemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// One review from a bulk import, as read from a CSV row or an NDJSON line
+@Data
+public class ReviewImportRow {
+    private Long employeeId;
+    private LocalDate reviewDate;
+    private Double score;
+    private String reviewComments;
+
+    // Source line, for error reporting
+    @JsonIgnore
+    private long line;
+}
@@ -0,0 +1,23 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Review score distribution for one review date; bucket bounds are inclusive
+@Data
+public class ScoreHistogramDTO {
+    private LocalDate reviewDate;
+    private double bucketWidth;
+    private long total;
+    private List<Bucket> buckets = new ArrayList<>();
+
+    @Data
+    public static class Bucket {
+        private double minScore;
+        private double maxScore;
+        private long count;
+    }
+}
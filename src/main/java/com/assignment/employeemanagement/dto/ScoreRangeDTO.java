@@ -0,0 +1,15 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Employees with a review on reviewDate scored within [minScore, maxScore], by ascending id
+@Data
+public class ScoreRangeDTO {
+    private LocalDate reviewDate;
+    private double minScore;
+    private double maxScore;
+    private int count;
+    private long[] employeeIds;
+}
@@ -0,0 +1,29 @@
+package com.assignment.employeemanagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Review score statistics for one department or project, one entry per review date
+@Data
+public class ScoreStatsDTO {
+    private Long id;
+    private String name;
+    private List<ReviewDateStats> reviewDates = new ArrayList<>();
+
+    @Data
+    public static class ReviewDateStats {
+        private LocalDate reviewDate;
+        private long count;
+        private double average;
+        private double min;
+        private double max;
+        private double p25;
+        private double p50;
+        private double p75;
+        private double p90;
+        private double p99;
+    }
+}
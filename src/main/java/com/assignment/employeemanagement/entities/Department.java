@@ -1,10 +1,18 @@
 package com.assignment.employeemanagement.entities;
+
+import com.assignment.employeemanagement.config.SecondLevelCacheConfig;
+import com.assignment.employeemanagement.events.EmployeeDataChangeListener;
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.DEPARTMENT_REGION)
+@EntityListeners(EmployeeDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
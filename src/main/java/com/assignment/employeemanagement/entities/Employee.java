@@ -1,5 +1,6 @@
 package com.assignment.employeemanagement.entities;
 
+import com.assignment.employeemanagement.events.EmployeeDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
@@ -7,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(EmployeeDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
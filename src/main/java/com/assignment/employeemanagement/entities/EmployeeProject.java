@@ -1,14 +1,18 @@
 package com.assignment.employeemanagement.entities;
 
+import com.assignment.employeemanagement.events.EmployeeDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(EmployeeDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "employee_project")
+@Table(name = "employee_project",
+        uniqueConstraints = @UniqueConstraint(name = "unique_employee_project", columnNames = {"employee_id", "project_id"}),
+        indexes = @Index(name = "idx_employee_project_project_employee", columnList = "project_id, employee_id"))
 @EqualsAndHashCode(exclude = {"employee", "project"})
 @ToString(exclude = {"employee", "project"})
 public class EmployeeProject {
@@ -1,18 +1,29 @@
 package com.assignment.employeemanagement.entities;
+
+import com.assignment.employeemanagement.events.EmployeeDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(EmployeeDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "performance_review")
+// Indexes mirror the Flyway migrations, which own the schema
+@Table(name = "performance_review", indexes = {
+        @Index(name = "idx_review_employee_date_score", columnList = "employee_id, review_date, score"),
+        @Index(name = "idx_review_date_score_employee", columnList = "review_date, score, employee_id"),
+        @Index(name = "idx_review_score_employee", columnList = "score, employee_id")
+})
 @EqualsAndHashCode(exclude = {"employee"})
 @ToString(exclude = {"employee"})
 public class PerformanceReview {
+    // Block-allocated ids (a table on MySQL) so inserts can be batched; bulk imports reserve
+    // ranges from the same table, see PerformanceReviewBulkRepository
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performance_review_seq")
+    @SequenceGenerator(name = "performance_review_seq", sequenceName = "performance_review_seq", allocationSize = 500)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,15 +1,23 @@
 package com.assignment.employeemanagement.entities;
+
+import com.assignment.employeemanagement.config.SecondLevelCacheConfig;
+import com.assignment.employeemanagement.events.EmployeeDataChangeListener;
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECT_REGION)
+@EntityListeners(EmployeeDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "project")
+@Table(name = "project", indexes = @Index(name = "idx_project_name", columnList = "name"))
 @EqualsAndHashCode(exclude = {"employeeProjects"})
 @ToString(exclude = {"employeeProjects"})
 public class Project {
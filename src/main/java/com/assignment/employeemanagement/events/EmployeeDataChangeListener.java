@@ -0,0 +1,53 @@
+package com.assignment.employeemanagement.events;
+
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.entities.EmployeeProject;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener; Hibernate obtains it from the Spring context so it can publish events.
+// Bulk JPQL/native updates bypass entity callbacks and therefore publish nothing.
+@Component
+public class EmployeeDataChangeListener {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        publish(entity, EmployeeDataChangedEvent.ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        publish(entity, EmployeeDataChangedEvent.ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onDeleted(Object entity) {
+        publish(entity, EmployeeDataChangedEvent.ChangeType.DELETED);
+    }
+
+    private void publish(Object entity, EmployeeDataChangedEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(
+                new EmployeeDataChangedEvent(entity.getClass(), changeType, employeeIdOf(entity), entity));
+    }
+
+    // Reading the id of a lazy association does not initialise the proxy
+    private Long employeeIdOf(Object entity) {
+        if (entity instanceof Employee employee) {
+            return employee.getId();
+        }
+        if (entity instanceof PerformanceReview review && review.getEmployee() != null) {
+            return review.getEmployee().getId();
+        }
+        if (entity instanceof EmployeeProject employeeProject && employeeProject.getEmployee() != null) {
+            return employeeProject.getEmployee().getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.assignment.employeemanagement.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published for every insert, update or delete of an entity that appears in employee responses
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "entity")
+public class EmployeeDataChangedEvent {
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final Class<?> entityType;
+    private final ChangeType changeType;
+
+    // Employee whose data changed; null for department and project changes
+    private final Long employeeId;
+
+    private final Object entity;
+}
@@ -0,0 +1,12 @@
+package com.assignment.employeemanagement.events;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Entity of the event published for each committed bulk import chunk: the inserted rows, so read
+// models can fold them in like reviews saved through JPA instead of rescanning the table
+public record ImportedReviews(List<Review> reviews) {
+
+    public record Review(long reviewId, long employeeId, LocalDate reviewDate, double score) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.assignment.employeemanagement.exceptions;
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
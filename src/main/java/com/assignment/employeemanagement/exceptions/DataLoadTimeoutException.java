@@ -0,0 +1,6 @@
+package com.assignment.employeemanagement.exceptions;
+public class DataLoadTimeoutException extends RuntimeException {
+    public DataLoadTimeoutException(String message) {
+        super(message);
+    }
+}
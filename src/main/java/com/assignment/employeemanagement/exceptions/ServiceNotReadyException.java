@@ -0,0 +1,6 @@
+package com.assignment.employeemanagement.exceptions;
+public class ServiceNotReadyException extends RuntimeException {
+    public ServiceNotReadyException(String message) {
+        super(message);
+    }
+}
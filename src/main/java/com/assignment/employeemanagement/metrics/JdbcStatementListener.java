@@ -0,0 +1,32 @@
+package com.assignment.employeemanagement.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Counts every JDBC statement towards the current request: Hibernate queries, native queries and the
+// JdbcTemplate repositories and bulk imports alike. A batch counts as one statement. Attached to the
+// DataSource by DataSourceProxyConfig; the start time travels with the ExecutionInfo of the statement.
+@Component
+public class JdbcStatementListener implements QueryExecutionListener {
+    private static final String START_NANOS = JdbcStatementListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestQueryStats.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats != null && start != null) {
+            stats.recordStatement(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.assignment.employeemanagement.metrics;
+
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.repositories.LatestScores;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rows returned per repository call. Latency is already recorded by Spring Data as
+// spring.data.repository.invocations; streams and scalar results (counts, exists) are skipped.
+@Aspect
+@Component
+public class RepositoryResultSizeAspect {
+    static final String ROWS_METRIC = "employees.repository.rows";
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterReturning(pointcut = "execution(* com.assignment.employeemanagement.repositories.*Repository+.*(..))",
+            returning = "result")
+    public void recordRows(JoinPoint joinPoint, Object result) {
+        long rows;
+        if (result == null) {
+            rows = 0;
+        } else if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else if (result instanceof LatestScores latestScores) {
+            rows = latestScores.size();
+        } else if (result.getClass().getPackageName().equals(Employee.class.getPackageName())) {
+            rows = 1;
+        } else {
+            return;
+        }
+
+        DistributionSummary.builder(ROWS_METRIC)
+                .description("Rows returned by repository methods")
+                .baseUnit("rows")
+                .tags("repository", repositoryName(joinPoint.getTarget().getClass()),
+                        "method", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    // The target is a Spring Data proxy; report the application interface it implements
+    private String repositoryName(Class<?> targetClass) {
+        return repositoryNames.computeIfAbsent(targetClass, type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getPackageName().equals(LatestScores.class.getPackageName())) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.assignment.employeemanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Records how many JDBC statements each request executed and how long they took, tagged like
+// http.server.requests so an N+1 regression shows up as a jump for a single endpoint
+@Component
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+    static final String STATEMENTS_METRIC = "http.server.requests.jdbc.statements";
+    static final String TIME_METRIC = "http.server.requests.jdbc.time";
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            // Streaming responses keep querying on another thread; a partial count would mislead
+            if (!request.isAsyncStarted()) {
+                record(request, response, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestQueryStats stats) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        String status = Integer.toString(response.getStatus());
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("JDBC statements executed per HTTP request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri, "status", status)
+                .register(registry)
+                .record(stats.getStatements());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags("method", method, "uri", uri, "status", status)
+                .register(registry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+}
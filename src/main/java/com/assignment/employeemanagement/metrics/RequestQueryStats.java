@@ -0,0 +1,66 @@
+package com.assignment.employeemanagement.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JDBC statements executed while an HTTP request is being handled: on the request thread, and on
+// executors decorated with propagate(). Other hand-offs (e.g. NDJSON streaming) are not attributed.
+public final class RequestQueryStats {
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong jdbcNanos = new AtomicLong();
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Null outside a request
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    // TaskDecorator for executors running parts of a request: the task's statements count towards
+    // the request that submitted it
+    public static Runnable propagate(Runnable task) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void recordStatement(long nanos) {
+        statements.incrementAndGet();
+        jdbcNanos.addAndGet(nanos);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos.get();
+    }
+}
@@ -0,0 +1,109 @@
+package com.assignment.employeemanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Logs JDBC statements slower than employees.slow-query-log.threshold with their bind values and the
+// service method that ran them (found on the stack, so only slow statements pay for it). Every slow
+// statement is counted as employees.jdbc.slow-statements; sample-rate thins out the log lines when
+// the whole database is slow. Attached to the DataSource by DataSourceProxyConfig.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employees.slow-query-log.enabled", havingValue = "true")
+public class SlowQueryLogListener implements QueryExecutionListener {
+    static final String SLOW_METRIC = "employees.jdbc.slow-statements";
+    static final String NO_CALLER = "none";
+    private static final String SERVICES_PACKAGE = "com.assignment.employeemanagement.services.";
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${employees.slow-query-log.threshold:200ms}")
+    private Duration threshold;
+
+    @Value("${employees.slow-query-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < threshold.toMillis()) {
+            return;
+        }
+        String caller = callingServiceMethod();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter(SLOW_METRIC, "caller", caller).increment();
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        log.warn("Slow statement ({} ms{}) from {}: {}", execInfo.getElapsedTime(),
+                execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", caller, describe(queryInfoList));
+    }
+
+    // Innermost service frame; lambdas are reported as the method that declared them
+    static String callingServiceMethod() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICES_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName().substring(SERVICES_PACKAGE.length());
+                    String methodName = frame.getMethodName();
+                    if (methodName.startsWith("lambda$")) {
+                        methodName = methodName.substring("lambda$".length(), methodName.lastIndexOf('$'));
+                    }
+                    return className + "." + methodName;
+                })
+                .orElse(NO_CALLER));
+    }
+
+    // Each statement with its first parameter set; batches only note how many sets followed
+    static String describe(List<QueryInfo> queryInfoList) {
+        StringJoiner statements = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            StringBuilder statement = new StringBuilder(queryInfo.getQuery());
+            List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+            if (!parameterSets.isEmpty()) {
+                StringJoiner values = new StringJoiner(", ", " [", "]");
+                for (ParameterSetOperation operation : parameterSets.get(0)) {
+                    Object[] args = operation.getArgs();
+                    if (args.length < 2) {
+                        continue;
+                    }
+                    boolean setNull = "setNull".equals(operation.getMethod().getName());
+                    values.add(args[0] + "=" + (setNull ? "null" : abbreviate(String.valueOf(args[1]))));
+                }
+                statement.append(values);
+                if (parameterSets.size() > 1) {
+                    statement.append(" (+").append(parameterSets.size() - 1).append(" more parameter sets)");
+                }
+            }
+            statements.add(statement);
+        }
+        return statements.toString();
+    }
+
+    private static String abbreviate(String value) {
+        return value.length() <= MAX_VALUE_LENGTH ? value : value.substring(0, MAX_VALUE_LENGTH) + "...";
+    }
+}
@@ -1,12 +1,21 @@
 package com.assignment.employeemanagement.repositories;
 
+import com.assignment.employeemanagement.config.SecondLevelCacheConfig;
 import com.assignment.employeemanagement.entities.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    // Served from the query cache until a department is written through Hibernate
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+    })
     List<Department> findByNameIn(List<String> names);
 }
@@ -3,64 +3,19 @@ import com.assignment.employeemanagement.entities.Employee;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    
-    @Query("SELECT DISTINCT e FROM Employee e " +
-            "JOIN e.department d " +
-            "LEFT JOIN e.employeeProjects ep " +
-            "LEFT JOIN ep.project p " +
-            "WHERE (:departmentNames IS NULL OR d.name IN :departmentNames) " +
-            "AND (:projectNames IS NULL OR p.name IN :projectNames)")
-    List<Employee> findAllWithFilters(
-            @Param("departmentNames") List<String> departmentNames,
-            @Param("projectNames") List<String> projectNames
-    );
+// Department/project/review filtering is built dynamically, see EmployeeSpecifications
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
 
-    @Query("SELECT DISTINCT e FROM Employee e " +
-            "JOIN e.department d " +
-            "LEFT JOIN e.employeeProjects ep " +
-            "LEFT JOIN ep.project p " +
-            "JOIN e.performanceReviews pr " +
-            "WHERE (:departmentNames IS NULL OR d.name IN :departmentNames) " +
-            "AND (:projectNames IS NULL OR p.name IN :projectNames) " +
-            "AND pr.score = :score")
-    List<Employee> findAllWithScoreFilter(
-            @Param("departmentNames") List<String> departmentNames,
-            @Param("projectNames") List<String> projectNames,
-            @Param("score") Double score
-    );
+    @EntityGraph(attributePaths = {"department", "manager"})
+    Optional<Employee> findWithDepartmentAndManagerById(Long id);
 
-    @Query("SELECT DISTINCT e FROM Employee e " +
-            "JOIN e.department d " +
-            "LEFT JOIN e.employeeProjects ep " +
-            "LEFT JOIN ep.project p " +
-            "JOIN e.performanceReviews pr " +
-            "WHERE (:departmentNames IS NULL OR d.name IN :departmentNames) " +
-            "AND (:projectNames IS NULL OR p.name IN :projectNames) " +
-            "AND pr.reviewDate = :reviewDate " +
-            "AND pr.score = :score")
-    List<Employee> findAllWithScoreAndDate(
-            @Param("departmentNames") List<String> departmentNames,
-            @Param("projectNames") List<String> projectNames,
-            @Param("reviewDate") LocalDate reviewDate,
-            @Param("score") Double score
-    );
-
-    @Query("SELECT DISTINCT e FROM Employee e " +
-            "JOIN e.department d " +
-            "LEFT JOIN e.employeeProjects ep " +
-            "LEFT JOIN ep.project p " +
-            "JOIN e.performanceReviews pr " +
-            "WHERE (:departmentNames IS NULL OR d.name IN :departmentNames) " +
-            "AND (:projectNames IS NULL OR p.name IN :projectNames) " +
-            "AND pr.reviewDate = :reviewDate")
-    List<Employee> findAllWithDateOnly(
-            @Param("departmentNames") List<String> departmentNames,
-            @Param("projectNames") List<String> projectNames,
-            @Param("reviewDate") LocalDate reviewDate
-    );
+    @EntityGraph(attributePaths = {"department", "manager"})
+    List<Employee> findWithDepartmentAndManagerByIdIn(Collection<Long> ids);
 
     @Query("SELECT DISTINCT e FROM Employee e " +
             "JOIN e.performanceReviews pr " +
@@ -73,21 +28,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             @Param("maxScore") Double maxScore
     );
 
-    @Query("SELECT DISTINCT e FROM Employee e " +
-            "JOIN e.department d " +
-            "LEFT JOIN e.employeeProjects ep " +
-            "LEFT JOIN ep.project p " +
-            "JOIN e.performanceReviews pr " +
-            "WHERE (:departmentNames IS NULL OR d.name IN :departmentNames) " +
-            "AND (:projectNames IS NULL OR p.name IN :projectNames) " +
-            "AND pr.reviewDate = :reviewDate " +
-            "AND pr.score >= :minScore " +
-            "AND pr.score <= :maxScore")
-    List<Employee> findAllWithAllFilters(
-            @Param("departmentNames") List<String> departmentNames,
-            @Param("projectNames") List<String> projectNames,
-            @Param("reviewDate") LocalDate reviewDate,
-            @Param("minScore") Double minScore,
-            @Param("maxScore") Double maxScore
-    );
+    // Rows of [employeeId, projectName] in assignment order
+    @Query("SELECT ep.employee.id, p.name FROM EmployeeProject ep " +
+            "JOIN ep.project p " +
+            "WHERE ep.employee.id IN :employeeIds " +
+            "ORDER BY ep.id")
+    List<Object[]> findProjectNamesByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
 }
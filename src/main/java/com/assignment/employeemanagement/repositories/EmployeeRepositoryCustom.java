@@ -0,0 +1,36 @@
+package com.assignment.employeemanagement.repositories;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeeReportDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Projection queries that build DTOs straight from result rows without hydrating entities.
+// Scalar and department/manager columns only; projectNames and lastPerformanceScore are left unset.
+public interface EmployeeRepositoryCustom {
+
+    List<EmployeeResponseDTO> findResponseRows(Specification<Employee> specification);
+
+    // Keyset page ordered by id: rows with id > afterId (all rows when afterId is null), at most limit rows
+    List<EmployeeResponseDTO> findResponsePage(Specification<Employee> specification, Long afterId, int limit);
+
+    // Must be consumed and closed inside a transaction
+    Stream<EmployeeResponseDTO> streamResponseRows(Specification<Employee> specification, int fetchSize);
+
+    // Everyone under managerId down to maxDepth levels, ordered by depth then id, in one recursive
+    // query. Department and review criteria from the filter select rows but do not prune the walk.
+    List<EmployeeReportDTO> findSubtreeRows(Long managerId, int maxDepth, EmployeeFilterDTO filter);
+
+    // Rows of [employeeId, score] for the n best (highestFirst) or worst reviews on reviewDate among
+    // employees matching the department and project filters, one row per employee, ties by id
+    List<Object[]> findRankedScoreRows(EmployeeFilterDTO filter, LocalDate reviewDate, int n, boolean highestFirst);
+
+    // Rows of [employeeId, latest score] for the n employees with the best (highestFirst) or worst
+    // latest review among those matching the department and project filters, ties by id
+    List<Object[]> findLatestRankedScoreRows(EmployeeFilterDTO filter, int n, boolean highestFirst);
+}
@@ -0,0 +1,251 @@
+package com.assignment.employeemanagement.repositories;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeeReportDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.Department;
+import com.assignment.employeemanagement.entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeResponseDTO> findResponseRows(Specification<Employee> specification) {
+        return entityManager.createQuery(responseQuery(specification, null)).getResultList().stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeResponseDTO> findResponsePage(Specification<Employee> specification, Long afterId, int limit) {
+        return entityManager.createQuery(responseQuery(specification, afterId))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<EmployeeResponseDTO> streamResponseRows(Specification<Employee> specification, int fetchSize) {
+        return entityManager.createQuery(responseQuery(specification, null))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()
+                .map(this::toResponseDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeReportDTO> findSubtreeRows(Long managerId, int maxDepth, EmployeeFilterDTO filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("managerId", managerId);
+        parameters.put("maxDepth", maxDepth);
+
+        // The depth bound also stops the walk if bad data ever forms a management cycle
+        StringBuilder sql = new StringBuilder(
+                "WITH RECURSIVE subtree (id, depth) AS (" +
+                        "SELECT e.id, 1 FROM employee e WHERE e.manager_id = :managerId " +
+                        "UNION ALL " +
+                        "SELECT e.id, s.depth + 1 FROM employee e JOIN subtree s ON e.manager_id = s.id " +
+                        "WHERE s.depth < :maxDepth) " +
+                "SELECT e.id AS id, e.name AS name, e.email AS email, e.date_of_joining AS date_of_joining, " +
+                        "e.salary AS salary, d.name AS department_name, e.manager_id AS manager_id, " +
+                        "m.name AS manager_name, s.depth AS depth " +
+                "FROM subtree s JOIN employee e ON e.id = s.id " +
+                "LEFT JOIN department d ON d.id = e.department_id " +
+                "LEFT JOIN employee m ON m.id = e.manager_id " +
+                "WHERE 1 = 1");
+
+        if (filter.getDepartments() != null && !filter.getDepartments().isEmpty()) {
+            sql.append(" AND d.name IN (:departments)");
+            parameters.put("departments", filter.getDepartments());
+        }
+        if (EmployeeSpecifications.hasReviewCriteria(filter)) {
+            // Same semantics as the list filter: all criteria hold for one review
+            sql.append(" AND EXISTS (SELECT 1 FROM performance_review pr WHERE pr.employee_id = e.id");
+            if (filter.getReviewDate() != null) {
+                sql.append(" AND pr.review_date = :reviewDate");
+                parameters.put("reviewDate", filter.getReviewDate());
+            }
+            if (filter.getScore() != null) {
+                sql.append(" AND pr.score = :score");
+                parameters.put("score", filter.getScore());
+            }
+            if (filter.getMinScore() != null) {
+                sql.append(" AND pr.score >= :minScore");
+                parameters.put("minScore", filter.getMinScore());
+            }
+            if (filter.getMaxScore() != null) {
+                sql.append(" AND pr.score <= :maxScore");
+                parameters.put("maxScore", filter.getMaxScore());
+            }
+            sql.append(")");
+        }
+        sql.append(" ORDER BY s.depth, e.id");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+
+        List<EmployeeReportDTO> reports = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            reports.add(toReportDTO((Tuple) row));
+        }
+        return reports;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findRankedScoreRows(EmployeeFilterDTO filter, LocalDate reviewDate, int n,
+                                              boolean highestFirst) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("reviewDate", reviewDate);
+
+        // Reads idx_review_date_score_employee for the date; MySQL keeps only n rows while sorting
+        String score = highestFirst ? "MAX(pr.score)" : "MIN(pr.score)";
+        StringBuilder sql = new StringBuilder("SELECT pr.employee_id, " + score + " AS ranked_score " +
+                "FROM performance_review pr");
+        appendDepartmentJoin(sql, filter, "pr.employee_id");
+        sql.append(" WHERE pr.review_date = :reviewDate");
+        appendMembershipPredicates(sql, parameters, filter, "pr.employee_id");
+        sql.append(" GROUP BY pr.employee_id ORDER BY ranked_score ")
+                .append(highestFirst ? "DESC" : "ASC")
+                .append(", pr.employee_id");
+
+        Query query = entityManager.createNativeQuery(sql.toString()).setMaxResults(n);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findLatestRankedScoreRows(EmployeeFilterDTO filter, int n, boolean highestFirst) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Same tie-break as PerformanceReviewRepository.findLatestScoreRows. The sort over the latest
+        // rows keeps only n of them, so only the ranked rows leave MySQL.
+        StringBuilder sql = new StringBuilder("SELECT ranked.employee_id, ranked.score FROM (" +
+                "SELECT pr.employee_id, pr.score, ROW_NUMBER() OVER (" +
+                "PARTITION BY pr.employee_id ORDER BY pr.review_date DESC, pr.id DESC) AS rn " +
+                "FROM performance_review pr");
+        appendDepartmentJoin(sql, filter, "pr.employee_id");
+        sql.append(" WHERE 1 = 1");
+        appendMembershipPredicates(sql, parameters, filter, "pr.employee_id");
+        sql.append(") ranked WHERE ranked.rn = 1 ORDER BY ranked.score ")
+                .append(highestFirst ? "DESC" : "ASC")
+                .append(", ranked.employee_id");
+
+        Query query = entityManager.createNativeQuery(sql.toString()).setMaxResults(n);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    // Department and project criteria for native queries over rows keyed by employeeColumn
+    private void appendDepartmentJoin(StringBuilder sql, EmployeeFilterDTO filter, String employeeColumn) {
+        if (hasValues(filter.getDepartments())) {
+            sql.append(" JOIN employee e ON e.id = ").append(employeeColumn)
+                    .append(" JOIN department d ON d.id = e.department_id");
+        }
+    }
+
+    private void appendMembershipPredicates(StringBuilder sql, Map<String, Object> parameters,
+                                            EmployeeFilterDTO filter, String employeeColumn) {
+        if (hasValues(filter.getDepartments())) {
+            sql.append(" AND d.name IN (:departments)");
+            parameters.put("departments", filter.getDepartments());
+        }
+        if (hasValues(filter.getProjects())) {
+            sql.append(" AND EXISTS (SELECT 1 FROM employee_project ep JOIN project p ON p.id = ep.project_id " +
+                    "WHERE ep.employee_id = ").append(employeeColumn).append(" AND p.name IN (:projects))");
+            parameters.put("projects", filter.getProjects());
+        }
+    }
+
+    private static boolean hasValues(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private CriteriaQuery<Tuple> responseQuery(Specification<Employee> specification, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        selectResponseColumns(root, query);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        // Seek past the previous page on the primary key instead of using OFFSET
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.<Long>get("id"), afterId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get("id")));
+        return query;
+    }
+
+    private void selectResponseColumns(Root<Employee> root, CriteriaQuery<Tuple> query) {
+        // LEFT joins keep employees without a department or manager; the department filter reuses this join
+        Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+        Join<Employee, Employee> manager = root.join("manager", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias("id"),
+                root.get("name").alias("name"),
+                root.get("email").alias("email"),
+                root.get("dateOfJoining").alias("dateOfJoining"),
+                root.get("salary").alias("salary"),
+                department.get("name").alias("departmentName"),
+                manager.get("name").alias("managerName")
+        );
+    }
+
+    // Native column types vary by driver (BIGINT/INT, DECIMAL, java.sql.Date), so convert loosely
+    private EmployeeReportDTO toReportDTO(Tuple tuple) {
+        EmployeeReportDTO dto = new EmployeeReportDTO();
+        dto.setId(((Number) tuple.get("id")).longValue());
+        dto.setName((String) tuple.get("name"));
+        dto.setEmail((String) tuple.get("email"));
+        Object dateOfJoining = tuple.get("date_of_joining");
+        dto.setDateOfJoining(dateOfJoining instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) dateOfJoining);
+        dto.setSalary(((Number) tuple.get("salary")).doubleValue());
+        dto.setDepartmentName((String) tuple.get("department_name"));
+        Object managerId = tuple.get("manager_id");
+        dto.setManagerId(managerId == null ? null : ((Number) managerId).longValue());
+        dto.setManagerName((String) tuple.get("manager_name"));
+        dto.setDepth(((Number) tuple.get("depth")).intValue());
+        return dto;
+    }
+
+    private EmployeeResponseDTO toResponseDTO(Tuple tuple) {
+        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+        dto.setId(tuple.get("id", Long.class));
+        dto.setName(tuple.get("name", String.class));
+        dto.setEmail(tuple.get("email", String.class));
+        dto.setDateOfJoining(tuple.get("dateOfJoining", LocalDate.class));
+        dto.setSalary(tuple.get("salary", Double.class));
+        dto.setDepartmentName(tuple.get("departmentName", String.class));
+        dto.setManagerName(tuple.get("managerName", String.class));
+        return dto;
+    }
+}
@@ -0,0 +1,94 @@
+package com.assignment.employeemanagement.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Rows behind the in-memory employee snapshot: full scans stream through a callback like
+// PerformanceAggregateRepository, refreshes re-read only the employees that changed. Dates are
+// read as LocalDate, the same conversion Hibernate applies, so snapshot rows compare equal to SQL ones.
+@Repository
+public class EmployeeSnapshotRepository {
+    private static final String EMPLOYEE_COLUMNS =
+            "SELECT e.id, e.name, e.email, e.date_of_joining, e.salary, e.department_id, e.manager_id FROM employee e";
+    private static final String MEMBERSHIP_COLUMNS =
+            "SELECT ep.employee_id, ep.project_id FROM employee_project ep";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${employees.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    // departmentId and managerId are null when not set
+    @FunctionalInterface
+    public interface EmployeeRowHandler {
+        void accept(long id, String name, String email, LocalDate dateOfJoining, double salary,
+                    Long departmentId, Long managerId);
+    }
+
+    @FunctionalInterface
+    public interface MembershipRowHandler {
+        void accept(long employeeId, long projectId);
+    }
+
+    public void forEachEmployee(EmployeeRowHandler handler) {
+        scan(EMPLOYEE_COLUMNS, rs -> handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3),
+                rs.getObject(4, LocalDate.class), rs.getDouble(5), rs.getObject(6, Long.class), rs.getObject(7, Long.class)));
+    }
+
+    public void forEachEmployee(Collection<Long> employeeIds, EmployeeRowHandler handler) {
+        jdbcTemplate.query(EMPLOYEE_COLUMNS + " WHERE e.id IN (:ids)", new MapSqlParameterSource("ids", employeeIds),
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, LocalDate.class),
+                            rs.getDouble(5), rs.getObject(6, Long.class), rs.getObject(7, Long.class));
+                });
+    }
+
+    // In assignment order, matching the project names in employee responses
+    public void forEachMembership(MembershipRowHandler handler) {
+        scan(MEMBERSHIP_COLUMNS + " ORDER BY ep.id", rs -> handler.accept(rs.getLong(1), rs.getLong(2)));
+    }
+
+    public void forEachMembership(Collection<Long> employeeIds, MembershipRowHandler handler) {
+        jdbcTemplate.query(MEMBERSHIP_COLUMNS + " WHERE ep.employee_id IN (:ids) ORDER BY ep.id",
+                new MapSqlParameterSource("ids", employeeIds),
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getLong(2));
+                });
+    }
+
+    public Map<Long, String> findDepartmentNames() {
+        return names("SELECT id, name FROM department");
+    }
+
+    public Map<Long, String> findProjectNames() {
+        return names("SELECT id, name FROM project");
+    }
+
+    private void scan(String sql, RowCallbackHandler handler) {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        jdbc.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler);
+    }
+
+    private Map<Long, String> names(String sql) {
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(sql, rs -> {
+            names.put(rs.getLong(1), rs.getString(2));
+        });
+        return names;
+    }
+}
@@ -0,0 +1,102 @@
+package com.assignment.employeemanagement.repositories;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.entities.*;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Builds the employee filter query from an EmployeeFilterDTO. Only the joins a filter needs are
+// added; project and review criteria are EXISTS subqueries so employee rows are never
+// multiplied and no DISTINCT is required.
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> fromFilter(EmployeeFilterDTO filterDTO) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasValues(filterDTO.getDepartments())) {
+                predicates.add(departmentJoin(root).get("name").in(filterDTO.getDepartments()));
+            }
+
+            if (hasValues(filterDTO.getProjects())) {
+                predicates.add(cb.exists(projectSubquery(root, query, cb, filterDTO.getProjects())));
+            }
+
+            if (hasReviewCriteria(filterDTO)) {
+                predicates.add(cb.exists(reviewSubquery(root, query, cb, filterDTO)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Employee> byIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static boolean hasReviewCriteria(EmployeeFilterDTO filterDTO) {
+        return filterDTO.getReviewDate() != null
+                || filterDTO.getScore() != null
+                || filterDTO.getMinScore() != null
+                || filterDTO.getMaxScore() != null;
+    }
+
+    // Reuse a department join that the caller (e.g. a projection query) has already added
+    @SuppressWarnings("unchecked")
+    static Join<Employee, Department> departmentJoin(Root<Employee> root) {
+        for (Join<Employee, ?> join : root.getJoins()) {
+            if ("department".equals(join.getAttribute().getName())) {
+                return (Join<Employee, Department>) join;
+            }
+        }
+        return root.join("department");
+    }
+
+    private static Subquery<Long> projectSubquery(Root<Employee> root, CriteriaQuery<?> query,
+                                                  CriteriaBuilder cb, List<String> projectNames) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<EmployeeProject> employeeProject = subquery.from(EmployeeProject.class);
+        Join<EmployeeProject, Project> project = employeeProject.join("project");
+        return subquery.select(employeeProject.<Long>get("id"))
+                .where(cb.equal(employeeProject.get("employee"), root),
+                        project.get("name").in(projectNames));
+    }
+
+    // All review criteria must hold for the same review row
+    private static Subquery<Long> reviewSubquery(Root<Employee> root, CriteriaQuery<?> query,
+                                                 CriteriaBuilder cb, EmployeeFilterDTO filterDTO) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<PerformanceReview> review = subquery.from(PerformanceReview.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(review.get("employee"), root));
+
+        LocalDate reviewDate = filterDTO.getReviewDate();
+        if (reviewDate != null) {
+            predicates.add(cb.equal(review.get("reviewDate"), reviewDate));
+        }
+        if (filterDTO.getScore() != null) {
+            predicates.add(cb.equal(review.get("score"), filterDTO.getScore()));
+        }
+        if (filterDTO.getMinScore() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(review.<Double>get("score"), filterDTO.getMinScore()));
+        }
+        if (filterDTO.getMaxScore() != null) {
+            predicates.add(cb.lessThanOrEqualTo(review.<Double>get("score"), filterDTO.getMaxScore()));
+        }
+
+        return subquery.select(review.<Long>get("id")).where(predicates.toArray(new Predicate[0]));
+    }
+
+    private static boolean hasValues(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.assignment.employeemanagement.repositories;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Most recent review score per employee as parallel primitive arrays, sorted by employee id
+public final class LatestScores {
+    private final long[] employeeIds;
+    private final double[] scores;
+
+    private LatestScores(long[] employeeIds, double[] scores) {
+        this.employeeIds = employeeIds;
+        this.scores = scores;
+    }
+
+    // Rows of [employeeId, score]; numeric column types depend on the driver and schema
+    public static LatestScores fromRows(List<Object[]> rows) {
+        long[] employeeIds = new long[rows.size()];
+        double[] scores = new double[rows.size()];
+        boolean sorted = true;
+        for (int i = 0; i < employeeIds.length; i++) {
+            Object[] row = rows.get(i);
+            employeeIds[i] = ((Number) row[0]).longValue();
+            scores[i] = ((Number) row[1]).doubleValue();
+            sorted &= i == 0 || employeeIds[i - 1] <= employeeIds[i];
+        }
+        if (!sorted) {
+            sortById(employeeIds, scores);
+        }
+        return new LatestScores(employeeIds, scores);
+    }
+
+    public int size() {
+        return employeeIds.length;
+    }
+
+    public boolean contains(long employeeId) {
+        return Arrays.binarySearch(employeeIds, employeeId) >= 0;
+    }
+
+    // NaN when the employee has no reviews
+    public double scoreOf(long employeeId) {
+        int index = Arrays.binarySearch(employeeIds, employeeId);
+        return index >= 0 ? scores[index] : Double.NaN;
+    }
+
+    private static void sortById(long[] employeeIds, double[] scores) {
+        Integer[] order = new Integer[employeeIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(employeeIds[a], employeeIds[b]));
+
+        long[] idsCopy = employeeIds.clone();
+        double[] scoresCopy = scores.clone();
+        for (int i = 0; i < order.length; i++) {
+            employeeIds[i] = idsCopy[order[i]];
+            scores[i] = scoresCopy[order[i]];
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.assignment.employeemanagement.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// Full scans and small lookups behind the in-memory score aggregates. Scans stream rows through a
+// callback (a server-side cursor with useCursorFetch) instead of materialising them.
+@Repository
+public class PerformanceAggregateRepository {
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${employees.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    @FunctionalInterface
+    public interface ScoreRowHandler {
+        void accept(long groupId, LocalDate reviewDate, double score);
+    }
+
+    public void forEachDepartmentScore(ScoreRowHandler handler) {
+        scan("SELECT e.department_id, pr.review_date, pr.score FROM performance_review pr " +
+                "JOIN employee e ON e.id = pr.employee_id WHERE e.department_id IS NOT NULL", handler);
+    }
+
+    // A review counts towards every project its employee is currently assigned to
+    public void forEachProjectScore(ScoreRowHandler handler) {
+        scan("SELECT ep.project_id, pr.review_date, pr.score FROM performance_review pr " +
+                "JOIN employee_project ep ON ep.employee_id = pr.employee_id", handler);
+    }
+
+    // Group id is the employee id
+    public void forEachReviewScore(ScoreRowHandler handler) {
+        scan("SELECT pr.employee_id, pr.review_date, pr.score FROM performance_review pr", handler);
+    }
+
+    public Map<Long, String> findDepartmentNames() {
+        return names("SELECT id, name FROM department");
+    }
+
+    public Map<Long, String> findProjectNames() {
+        return names("SELECT id, name FROM project");
+    }
+
+    public Map<Long, Long> findDepartmentIds(Collection<Long> employeeIds) {
+        Map<Long, Long> departmentIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, department_id FROM employee WHERE id IN (:ids) AND department_id IS NOT NULL",
+                new MapSqlParameterSource("ids", employeeIds),
+                rs -> {
+                    departmentIds.put(rs.getLong(1), rs.getLong(2));
+                });
+        return departmentIds;
+    }
+
+    public Map<Long, List<Long>> findProjectIds(Collection<Long> employeeIds) {
+        Map<Long, List<Long>> projectIds = new HashMap<>();
+        jdbcTemplate.query("SELECT employee_id, project_id FROM employee_project WHERE employee_id IN (:ids)",
+                new MapSqlParameterSource("ids", employeeIds),
+                rs -> {
+                    projectIds.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                });
+        return projectIds;
+    }
+
+    // Which of these reviews the current transaction's snapshot can see
+    public Set<Long> findVisibleReviewIds(Collection<Long> reviewIds) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM performance_review WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", reviewIds), Long.class));
+    }
+
+    // Ids are auto-increment, so no review the current snapshot can see has a higher one
+    public long findMaxReviewId() {
+        Long maxId = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM performance_review", Long.class);
+        return maxId != null ? maxId : 0;
+    }
+
+    private void scan(String sql, ScoreRowHandler handler) {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        jdbc.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            handler.accept(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getDouble(3));
+        });
+    }
+
+    private Map<Long, String> names(String sql) {
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(sql, rs -> {
+            names.put(rs.getLong(1), rs.getString(2));
+        });
+        return names;
+    }
+}
@@ -0,0 +1,70 @@
+package com.assignment.employeemanagement.repositories;
+
+import com.assignment.employeemanagement.dto.ReviewImportRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Plain JDBC writes for bulk review imports. Rows skip the persistence context and entity
+// callbacks, so callers are responsible for publishing change events.
+@Repository
+public class PerformanceReviewBulkRepository {
+    // Shared with the @SequenceGenerator on PerformanceReview.id (a table on MySQL)
+    private static final String ID_TABLE = "performance_review_seq";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingEmployeeIds(Collection<Long> employeeIds) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM employee WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", employeeIds), Long.class));
+    }
+
+    // Reserves [first, first + count) in its own short transaction, so the id row is not locked
+    // while a chunk is written. Hibernate's pooled-lo optimizer allocates from the same row.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveIds(int count) {
+        Long first = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT next_val FROM " + ID_TABLE + " FOR UPDATE", Long.class);
+        jdbcTemplate.getJdbcTemplate().update("UPDATE " + ID_TABLE + " SET next_val = ?", first + count);
+        return first;
+    }
+
+    // One transaction per call; the driver sends batchSize rows per round trip
+    // (rewritten into multi-row INSERTs with rewriteBatchedStatements=true)
+    @Transactional
+    public void insertReviews(List<ReviewImportRow> rows, long firstId, int batchSize) {
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        long id = firstId;
+        for (ReviewImportRow row : rows) {
+            batch.add(new Object[]{id++, row});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO performance_review (id, employee_id, review_date, score, review_comments) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                batch, batchSize, (ps, values) -> {
+                    ReviewImportRow row = (ReviewImportRow) values[1];
+                    ps.setLong(1, (Long) values[0]);
+                    ps.setLong(2, row.getEmployeeId());
+                    ps.setDate(3, Date.valueOf(row.getReviewDate()));
+                    ps.setDouble(4, row.getScore());
+                    if (row.getReviewComments() != null) {
+                        ps.setString(5, row.getReviewComments());
+                    } else {
+                        ps.setNull(5, Types.VARCHAR);
+                    }
+                });
+    }
+}
@@ -1,13 +1,39 @@
 package com.assignment.employeemanagement.repositories;
 
 import com.assignment.employeemanagement.entities.PerformanceReview;
-import com.assignment.employeemanagement.entities.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PerformanceReviewRepository extends JpaRepository<PerformanceReview, Long> {
-    List<PerformanceReview> findTop3ByEmployeeOrderByReviewDateDesc(Employee employee);
+    // One row per employee: the newest review, ties on review_date broken by the higher id
+    @Query(value = "SELECT ranked.employee_id, ranked.score FROM (" +
+            "SELECT pr.employee_id, pr.score, ROW_NUMBER() OVER (" +
+            "PARTITION BY pr.employee_id ORDER BY pr.review_date DESC, pr.id DESC) AS rn " +
+            "FROM performance_review pr " +
+            "WHERE pr.employee_id IN (:employeeIds)) ranked " +
+            "WHERE ranked.rn = 1 " +
+            "ORDER BY ranked.employee_id", nativeQuery = true)
+    List<Object[]> findLatestScoreRows(@Param("employeeIds") Collection<Long> employeeIds);
+
+    // Rows of [employeeId, id, reviewDate, score, reviewComments]: each employee's newest three
+    // reviews, newest first with review_date ties broken by the higher id. Serves both the single
+    // employee detail and the batch, so both list the same three reviews.
+    @Query(value = "SELECT ranked.employee_id, ranked.id, ranked.review_date, ranked.score, ranked.review_comments FROM (" +
+            "SELECT pr.employee_id, pr.id, pr.review_date, pr.score, pr.review_comments, ROW_NUMBER() OVER (" +
+            "PARTITION BY pr.employee_id ORDER BY pr.review_date DESC, pr.id DESC) AS rn " +
+            "FROM performance_review pr " +
+            "WHERE pr.employee_id IN (:employeeIds)) ranked " +
+            "WHERE ranked.rn <= 3 " +
+            "ORDER BY ranked.employee_id, ranked.rn", nativeQuery = true)
+    List<Object[]> findLast3ReviewRows(@Param("employeeIds") Collection<Long> employeeIds);
+
+    default LatestScores findLatestScores(Collection<Long> employeeIds) {
+        return LatestScores.fromRows(findLatestScoreRows(employeeIds));
+    }
 }
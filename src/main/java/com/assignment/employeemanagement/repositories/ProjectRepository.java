@@ -1,12 +1,21 @@
 package com.assignment.employeemanagement.repositories;
 
+import com.assignment.employeemanagement.config.SecondLevelCacheConfig;
 import com.assignment.employeemanagement.entities.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    // Served from the query cache until a project is written through Hibernate
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+    })
     List<Project> findByNameIn(List<String> names);
 }
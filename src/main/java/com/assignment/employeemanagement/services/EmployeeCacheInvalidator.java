@@ -0,0 +1,57 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.config.CacheConfig;
+import com.assignment.employeemanagement.entities.*;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Runs after commit so a concurrent read cannot re-cache the pre-commit state, and before
+// EmployeeVersions moves the ETags on
+@Component
+public class EmployeeCacheInvalidator {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDataChanged(EmployeeDataChangedEvent event) {
+        // Every entity type feeds list responses: employee rows and names, department and project
+        // names and membership, and the latest review score. Cached pages are not keyed by the
+        // entities they contain, so any change drops all of them.
+        filterResultsChanged();
+        invalidateDetails(event);
+    }
+
+    // Also called by list sources that publish changes later than the commit, e.g. the employee snapshot
+    public void filterResultsChanged() {
+        Cache filterResults = cacheManager.getCache(CacheConfig.EMPLOYEE_FILTER_RESULTS_CACHE);
+        if (filterResults != null) {
+            filterResults.clear();
+        }
+    }
+
+    private void invalidateDetails(EmployeeDataChangedEvent event) {
+        Cache details = cacheManager.getCache(CacheConfig.EMPLOYEE_DETAILS_CACHE);
+        if (details == null) {
+            return;
+        }
+
+        Class<?> type = event.getEntityType();
+        boolean employeeScoped = PerformanceReview.class.equals(type) || EmployeeProject.class.equals(type);
+        boolean newEmployee = Employee.class.equals(type)
+                && event.getChangeType() == EmployeeDataChangedEvent.ChangeType.CREATED;
+
+        if (employeeScoped && event.getEmployeeId() != null) {
+            details.evict(event.getEmployeeId());
+        } else if (!newEmployee) {
+            // Employee, department and project names are copied into other employees' details
+            details.clear();
+        }
+    }
+}
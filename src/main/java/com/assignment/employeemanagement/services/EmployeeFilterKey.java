@@ -0,0 +1,41 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Canonical form of an EmployeeFilterDTO: name lists are de-duplicated and sorted and empty lists
+// become null, so filters that select the same rows map to the same key
+@Value
+public class EmployeeFilterKey {
+    List<String> departments;
+    List<String> projects;
+    LocalDate reviewDate;
+    Double score;
+    Double minScore;
+    Double maxScore;
+    String cursor;
+    Integer limit;
+
+    public static EmployeeFilterKey of(EmployeeFilterDTO filterDTO) {
+        return new EmployeeFilterKey(
+                canonical(filterDTO.getDepartments()),
+                canonical(filterDTO.getProjects()),
+                filterDTO.getReviewDate(),
+                filterDTO.getScore(),
+                filterDTO.getMinScore(),
+                filterDTO.getMaxScore(),
+                filterDTO.getCursor() == null || filterDTO.getCursor().isBlank() ? null : filterDTO.getCursor(),
+                filterDTO.getLimit()
+        );
+    }
+
+    private static List<String> canonical(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return null;
+        }
+        return names.stream().distinct().sorted().toList();
+    }
+}
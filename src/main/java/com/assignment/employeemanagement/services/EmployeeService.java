@@ -2,15 +2,47 @@ package com.assignment.employeemanagement.services;
 import com.assignment.employeemanagement.entities.*;
 import com.assignment.employeemanagement.repositories.*;
 import com.assignment.employeemanagement.dto.*;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
+import com.assignment.employeemanagement.exceptions.DataLoadTimeoutException;
 import com.assignment.employeemanagement.exceptions.ResourceNotFoundException;
+import com.assignment.employeemanagement.config.CacheConfig;
+import com.assignment.employeemanagement.config.ExecutorConfig;
+import com.assignment.employeemanagement.services.ScoreIndexService.EmployeeScore;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "employees.service", histogram = true)
 public class EmployeeService {
+    // Upper bound on ids per IN clause when loading projects and scores for a result page
+    private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
     @Autowired
     private EmployeeRepository employeeRepository;
     
@@ -23,68 +55,257 @@ public class EmployeeService {
     @Autowired
     private ProjectRepository projectRepository;
 
-    public List<EmployeeResponseDTO> getEmployeesWithFilters(EmployeeFilterDTO filterDTO) {
-        List<Employee> employees;
-        
-        // If reviewDate is provided, use date-based filtering (more specific)
-        if (filterDTO.getReviewDate() != null) {
-            if (filterDTO.getScore() != null) {
-                // Use exact score on specific date
-                employees = employeeRepository.findAllWithScoreAndDate(
-                    filterDTO.getDepartments(),
-                    filterDTO.getProjects(),
-                    filterDTO.getReviewDate(),
-                    filterDTO.getScore()
-                );
-            } else if (filterDTO.getMinScore() != null && filterDTO.getMaxScore() != null) {
-                // Use score range on specific date
-                employees = employeeRepository.findAllWithAllFilters(
-                    filterDTO.getDepartments(),
-                    filterDTO.getProjects(),
-                    filterDTO.getReviewDate(),
-                    filterDTO.getMinScore(),
-                    filterDTO.getMaxScore()
-                );
-            } else {
-                // Just filter by date without score
-                employees = employeeRepository.findAllWithDateOnly(
-                    filterDTO.getDepartments(),
-                    filterDTO.getProjects(),
-                    filterDTO.getReviewDate()
-                );
+    @Autowired
+    private ScoreIndexService scoreIndexService;
+
+    @Autowired
+    private EmployeeSnapshotService employeeSnapshotService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier(ExecutorConfig.EMPLOYEE_DETAIL_EXECUTOR)
+    private Executor detailExecutor;
+
+    @Value("${employees.batch.max-ids:200}")
+    private int maxBatchIds;
+
+    @Value("${employees.detail.part-timeout:2s}")
+    private Duration detailPartTimeout;
+
+    @Value("${employees.page.default-limit:500}")
+    private int defaultPageLimit;
+
+    @Value("${employees.page.max-limit:5000}")
+    private int maxPageLimit;
+
+    @Value("${employees.stream.fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Value("${employees.reports.max-depth:100}")
+    private int maxReportDepth;
+
+    @Value("${employees.ranking.default-limit:10}")
+    private int defaultRankingLimit;
+
+    @Value("${employees.ranking.max-limit:1000}")
+    private int maxRankingLimit;
+
+    // Keyed by the canonical EmployeeFilterKey; sync=true lets one caller load a missing key while
+    // concurrent callers for the same key wait for its result
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_FILTER_RESULTS_CACHE,
+            keyGenerator = "employeeFilterKeyGenerator", sync = true)
+    public EmployeePageDTO getEmployeesWithFilters(EmployeeFilterDTO filterDTO) {
+        int limit = resolvePageLimit(filterDTO.getLimit());
+        Long afterId = PageCursor.decode(filterDTO.getCursor());
+
+        // One extra row tells us whether another page exists
+        List<EmployeeResponseDTO> employees = findResponsePage(filterDTO, afterId, limit + 1);
+
+        String nextCursor = null;
+        if (employees.size() > limit) {
+            employees = new ArrayList<>(employees.subList(0, limit));
+            nextCursor = PageCursor.encode(employees.get(limit - 1).getId());
+        }
+
+        attachProjectsAndScores(employees);
+        return new EmployeePageDTO(employees, nextCursor);
+    }
+
+    // From the in-memory snapshot when it is enabled and the filter has no review criteria
+    private List<EmployeeResponseDTO> findResponsePage(EmployeeFilterDTO filterDTO, Long afterId, int limit) {
+        Supplier<List<EmployeeResponseDTO>> sql = () -> employeeRepository.findResponsePage(
+                EmployeeSpecifications.fromFilter(filterDTO), afterId, limit);
+        if (!employeeSnapshotService.canAnswer(filterDTO)) {
+            return sql.get();
+        }
+        return employeeSnapshotService.findPage(filterDTO, afterId, limit, sql);
+    }
+
+    // Streams every matching employee; memory is bounded by one IN_CLAUSE_BATCH_SIZE batch
+    @Transactional(readOnly = true)
+    public void streamEmployeesWithFilters(EmployeeFilterDTO filterDTO, Consumer<EmployeeResponseDTO> consumer) {
+        streamInBatches(filterDTO, batch -> {
+            attachProjectsAndScores(batch);
+            batch.forEach(consumer);
+        });
+    }
+
+    // Legacy list: the same projection rows with project names only, never entities
+    @Transactional(readOnly = true)
+    public void streamLegacyEmployees(List<String> departments, List<String> projects,
+                                      Consumer<LegacyEmployeeDTO> consumer) {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(departments);
+        filterDTO.setProjects(projects);
+        streamInBatches(filterDTO, batch -> {
+            attachProjectNames(batch);
+            for (EmployeeResponseDTO employee : batch) {
+                consumer.accept(toLegacyDTO(employee));
             }
+        });
+    }
+
+    // The whole subtree comes from one recursive query; projects and scores are attached in batches
+    public List<EmployeeReportDTO> getReports(Long managerId, Integer maxDepth, EmployeeFilterDTO filterDTO) {
+        if (!employeeRepository.existsById(managerId)) {
+            throw new ResourceNotFoundException("Employee not found with id: " + managerId);
         }
-        // If only score is provided (without date)
-        else if (filterDTO.getScore() != null) {
-            employees = employeeRepository.findAllWithScoreFilter(
-                filterDTO.getDepartments(),
-                filterDTO.getProjects(),
-                filterDTO.getScore()
-            );
+        List<EmployeeReportDTO> reports = employeeRepository.findSubtreeRows(
+                managerId, resolveReportDepth(maxDepth), filterDTO);
+        attachProjectsAndScores(reports);
+        return reports;
+    }
+
+    // Top (highestFirst) or bottom n employees by score. The database sorts and limits, or with a
+    // reviewDate and no department or project filter the in-memory score index answers. Without a
+    // reviewDate, employees are ranked by their latest review.
+    @Transactional(readOnly = true)
+    public List<RankedEmployeeDTO> getRankedEmployees(EmployeeFilterDTO filterDTO, Integer n, boolean highestFirst) {
+        int limit = resolveRankingLimit(n);
+        LocalDate reviewDate = filterDTO.getReviewDate();
+
+        List<EmployeeScore> scores;
+        if (reviewDate == null) {
+            scores = toEmployeeScores(employeeRepository.findLatestRankedScoreRows(filterDTO, limit, highestFirst));
+        } else if (!hasMembershipFilter(filterDTO) && scoreIndexService.isReady()) {
+            scores = highestFirst
+                    ? scoreIndexService.top(reviewDate, limit)
+                    : scoreIndexService.bottom(reviewDate, limit);
         } else {
-            // Basic filtering without performance score or date
-            employees = employeeRepository.findAllWithFilters(
-                filterDTO.getDepartments(),
-                filterDTO.getProjects()
-            );
+            scores = toEmployeeScores(employeeRepository.findRankedScoreRows(filterDTO, reviewDate, limit, highestFirst));
         }
-        
-        return employees.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return toRankedDTOs(scores, reviewDate);
     }
 
-    public List<Employee> getEmployees(List<String> departments, List<String> projects) {
-        return employeeRepository.findAllWithFilters(departments, projects);
+    // Invalidated by EmployeeCacheInvalidator when the employee's reviews, projects or related names change
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_DETAILS_CACHE, key = "#id")
+    // The employee with department and manager, the last 3 reviews and the project names are
+    // independent queries, so they run concurrently on the detail executor, each in its own
+    // read-only transaction. All parts share one deadline of employees.detail.part-timeout.
+    public EmployeeDetailDTO getEmployeeById(Long id) {
+        long deadline = System.nanoTime() + detailPartTimeout.toNanos();
+        CompletableFuture<Optional<Employee>> employee =
+                loadDetailPart(() -> employeeRepository.findWithDepartmentAndManagerById(id));
+        CompletableFuture<List<Object[]>> reviews =
+                loadDetailPart(() -> reviewRepository.findLast3ReviewRows(List.of(id)));
+        CompletableFuture<List<String>> projectNames = loadDetailPart(() -> findProjectNames(id));
+
+        try {
+            Employee found = awaitDetailPart(employee, deadline, id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+            return toDetailDTO(found, awaitDetailPart(reviews, deadline, id), awaitDetailPart(projectNames, deadline, id));
+        } finally {
+            // Parts still queued are skipped; running statements are stopped by the transaction timeout
+            employee.cancel(false);
+            reviews.cancel(false);
+            projectNames.cancel(false);
+        }
     }
 
-    public EmployeeDetailDTO getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        
-        // Get last 3 performance reviews
-        List<PerformanceReview> reviews = reviewRepository.findTop3ByEmployeeOrderByReviewDateDesc(employee);
-        
+    private <T> CompletableFuture<T> loadDetailPart(Supplier<T> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (detailPartTimeout.toMillis() + 999) / 1000));
+        return CompletableFuture.supplyAsync(() -> transaction.execute(status -> query.get()), detailExecutor);
+    }
+
+    private <T> T awaitDetailPart(CompletableFuture<T> part, long deadline, Long id) {
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new DataLoadTimeoutException("Timed out loading details of employee with id: " + id);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataLoadTimeoutException("Interrupted loading details of employee with id: " + id);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private List<String> findProjectNames(Long id) {
+        List<String> projectNames = new ArrayList<>();
+        for (Object[] row : employeeRepository.findProjectNamesByEmployeeIds(List.of(id))) {
+            if (!projectNames.contains((String) row[1])) {
+                projectNames.add((String) row[1]);
+            }
+        }
+        return projectNames;
+    }
+
+    // Set-based version of getEmployeeById: three queries for the whole batch. Ids are de-duplicated,
+    // employees come back in request order, and unknown ids are listed rather than failing the batch.
+    @Transactional(readOnly = true)
+    public EmployeeBatchDTO getEmployeesByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("ids must not be empty");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("ids must not contain blanks");
+        }
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (distinctIds.size() > maxBatchIds) {
+            throw new BadRequestException("At most " + maxBatchIds + " ids can be requested at once");
+        }
+
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.findWithDepartmentAndManagerByIdIn(distinctIds)) {
+            employees.put(employee.getId(), employee);
+        }
+
+        Map<Long, List<String>> projectNames = new HashMap<>();
+        Map<Long, List<EmployeeDetailDTO.PerformanceReviewDTO>> reviews = new HashMap<>();
+        if (!employees.isEmpty()) {
+            for (Object[] row : employeeRepository.findProjectNamesByEmployeeIds(employees.keySet())) {
+                List<String> names = projectNames.computeIfAbsent((Long) row[0], employeeId -> new ArrayList<>());
+                if (!names.contains((String) row[1])) {
+                    names.add((String) row[1]);
+                }
+            }
+            for (Object[] row : reviewRepository.findLast3ReviewRows(employees.keySet())) {
+                reviews.computeIfAbsent(((Number) row[0]).longValue(), employeeId -> new ArrayList<>())
+                        .add(toReviewDTO(row));
+            }
+        }
+
+        EmployeeBatchDTO batch = new EmployeeBatchDTO();
+        batch.setEmployees(new ArrayList<>());
+        batch.setMissingIds(new ArrayList<>());
+        for (Long id : distinctIds) {
+            Employee employee = employees.get(id);
+            if (employee == null) {
+                batch.getMissingIds().add(id);
+                continue;
+            }
+            EmployeeDetailDTO dto = newDetailDTO(employee, projectNames.getOrDefault(id, new ArrayList<>()));
+            dto.setLast3Reviews(reviews.getOrDefault(id, new ArrayList<>()));
+            batch.getEmployees().add(dto);
+        }
+        return batch;
+    }
+
+    // Row of [employeeId, id, reviewDate, score, reviewComments]; native column types vary by driver
+    private EmployeeDetailDTO.PerformanceReviewDTO toReviewDTO(Object[] row) {
+        EmployeeDetailDTO.PerformanceReviewDTO reviewDto = new EmployeeDetailDTO.PerformanceReviewDTO();
+        reviewDto.setId(((Number) row[1]).longValue());
+        reviewDto.setReviewDate(row[2] instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) row[2]);
+        reviewDto.setScore(((Number) row[3]).doubleValue());
+        reviewDto.setReviewComments((String) row[4]);
+        return reviewDto;
+    }
+
+    // Package-private for the mapping benchmarks
+    EmployeeDetailDTO toDetailDTO(Employee employee, List<Object[]> reviewRows, List<String> projectNames) {
+        EmployeeDetailDTO dto = newDetailDTO(employee, projectNames);
+        dto.setLast3Reviews(reviewRows.stream().map(this::toReviewDTO).collect(Collectors.toList()));
+        return dto;
+    }
+
+    private EmployeeDetailDTO newDetailDTO(Employee employee, List<String> projectNames) {
         // Map to DTO to avoid circular references
         EmployeeDetailDTO dto = new EmployeeDetailDTO();
         dto.setId(employee.getId());
@@ -105,54 +326,136 @@ public class EmployeeService {
         }
         
         // Set projects
-        dto.setProjects(employee.getProjectNames());
-        
-        // Map performance reviews
-        List<EmployeeDetailDTO.PerformanceReviewDTO> reviewDtos = reviews.stream()
-                .map(review -> {
-                    EmployeeDetailDTO.PerformanceReviewDTO reviewDto = new EmployeeDetailDTO.PerformanceReviewDTO();
-                    reviewDto.setId(review.getId());
-                    reviewDto.setReviewDate(review.getReviewDate());
-                    reviewDto.setScore(review.getScore());
-                    reviewDto.setReviewComments(review.getReviewComments());
-                    return reviewDto;
-                })
-                .collect(Collectors.toList());
-        
-        dto.setLast3Reviews(reviewDtos);
+        dto.setProjects(projectNames);
         
         return dto;
     }
 
-    private EmployeeResponseDTO convertToResponseDTO(Employee employee) {
-        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+    private int resolvePageLimit(Integer requested) {
+        if (requested == null) {
+            return defaultPageLimit;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(requested, maxPageLimit);
+    }
+
+    private int resolveRankingLimit(Integer requested) {
+        if (requested == null) {
+            return defaultRankingLimit;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("n must be at least 1");
+        }
+        return Math.min(requested, maxRankingLimit);
+    }
+
+    private boolean hasMembershipFilter(EmployeeFilterDTO filterDTO) {
+        return (filterDTO.getDepartments() != null && !filterDTO.getDepartments().isEmpty())
+                || (filterDTO.getProjects() != null && !filterDTO.getProjects().isEmpty());
+    }
+
+    // Native score columns come back as DECIMAL or DOUBLE depending on the driver
+    private static List<EmployeeScore> toEmployeeScores(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new EmployeeScore(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()))
+                .collect(Collectors.toList());
+    }
+
+    // Employees deleted since their score was ranked are dropped rather than padded
+    private List<RankedEmployeeDTO> toRankedDTOs(List<EmployeeScore> scores, LocalDate reviewDate) {
+        if (scores.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, EmployeeResponseDTO> byId = employeeRepository.findResponseRows(EmployeeSpecifications.byIds(
+                        scores.stream().map(EmployeeScore::employeeId).collect(Collectors.toList()))).stream()
+                .collect(Collectors.toMap(EmployeeResponseDTO::getId, dto -> dto));
+
+        List<RankedEmployeeDTO> ranked = new ArrayList<>(scores.size());
+        for (EmployeeScore score : scores) {
+            EmployeeResponseDTO employee = byId.get(score.employeeId());
+            if (employee == null) {
+                continue;
+            }
+            RankedEmployeeDTO dto = new RankedEmployeeDTO();
+            BeanUtils.copyProperties(employee, dto);
+            dto.setRank(ranked.size() + 1);
+            dto.setRankedScore(score.score());
+            dto.setReviewDate(reviewDate);
+            ranked.add(dto);
+        }
+        attachProjectsAndScores(ranked);
+        return ranked;
+    }
+
+    private int resolveReportDepth(Integer requested) {
+        if (requested == null) {
+            return maxReportDepth;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("maxDepth must be at least 1");
+        }
+        return Math.min(requested, maxReportDepth);
+    }
+
+    private void streamInBatches(EmployeeFilterDTO filterDTO, Consumer<List<EmployeeResponseDTO>> batchConsumer) {
+        try (Stream<EmployeeResponseDTO> rows = employeeRepository.streamResponseRows(
+                EmployeeSpecifications.fromFilter(filterDTO), streamFetchSize)) {
+            List<EmployeeResponseDTO> batch = new ArrayList<>(IN_CLAUSE_BATCH_SIZE);
+            Iterator<EmployeeResponseDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == IN_CLAUSE_BATCH_SIZE || !iterator.hasNext()) {
+                    batchConsumer.accept(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private LegacyEmployeeDTO toLegacyDTO(EmployeeResponseDTO employee) {
+        LegacyEmployeeDTO dto = new LegacyEmployeeDTO();
         dto.setId(employee.getId());
         dto.setName(employee.getName());
         dto.setEmail(employee.getEmail());
         dto.setDateOfJoining(employee.getDateOfJoining());
         dto.setSalary(employee.getSalary());
-        
-        if (employee.getDepartment() != null) {
-            dto.setDepartmentName(employee.getDepartment().getName());
+        dto.setProjectNames(employee.getProjectNames());
+        return dto;
+    }
+
+    // Two set-based queries per batch instead of lazy loads per employee
+    void attachProjectsAndScores(List<? extends EmployeeResponseDTO> employees) {
+        for (int from = 0; from < employees.size(); from += IN_CLAUSE_BATCH_SIZE) {
+            List<? extends EmployeeResponseDTO> batch =
+                    employees.subList(from, Math.min(from + IN_CLAUSE_BATCH_SIZE, employees.size()));
+
+            Map<Long, EmployeeResponseDTO> byId = attachProjectNames(batch);
+
+            LatestScores latestScores = reviewRepository.findLatestScores(byId.keySet());
+            for (EmployeeResponseDTO dto : batch) {
+                if (latestScores.contains(dto.getId())) {
+                    dto.setLastPerformanceScore(latestScores.scoreOf(dto.getId()));
+                }
+            }
         }
-        
-        if (employee.getManager() != null) {
-            dto.setManagerName(employee.getManager().getName());
+    }
+
+    // Batch of at most IN_CLAUSE_BATCH_SIZE employees; returns them by id
+    private Map<Long, EmployeeResponseDTO> attachProjectNames(List<? extends EmployeeResponseDTO> batch) {
+        Map<Long, EmployeeResponseDTO> byId = new HashMap<>();
+        for (EmployeeResponseDTO dto : batch) {
+            dto.setProjectNames(new ArrayList<>());
+            byId.put(dto.getId(), dto);
         }
-        
-        dto.setProjectNames(employee.getProjectNames());
-        
-        // Get the latest performance score
-        if (!employee.getPerformanceReviews().isEmpty()) {
-            PerformanceReview latestReview = employee.getPerformanceReviews().stream()
-                    .sorted((r1, r2) -> r2.getReviewDate().compareTo(r1.getReviewDate()))
-                    .findFirst()
-                    .orElse(null);
-            if (latestReview != null) {
-                dto.setLastPerformanceScore(latestReview.getScore());
+
+        for (Object[] row : employeeRepository.findProjectNamesByEmployeeIds(byId.keySet())) {
+            List<String> projectNames = byId.get((Long) row[0]).getProjectNames();
+            if (!projectNames.contains((String) row[1])) {
+                projectNames.add((String) row[1]);
             }
         }
-        
-        return dto;
+        return byId;
     }
 }
@@ -0,0 +1,405 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// Immutable columnar copy of the employee rows behind the filter endpoint. Row i is the employee with
+// the i-th smallest id, so rows are already in keyset page order. Department and project names are
+// dictionary-encoded and every name has a bitset of its member rows: a filter is a union of bitsets
+// per list and an intersection across lists. Columns are split into fixed-size chunks, so a patch
+// copies only the chunks and name bitsets its rows touch and shares the rest with the old snapshot.
+final class EmployeeSnapshot {
+    static final long NO_ID = -1;
+    private static final int NONE = -1;
+    private static final long[] NO_PROJECTS = new long[0];
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private final Chunk[] chunks;
+    private final int size;
+
+    // The name tables the rows were encoded with; a patch must be read against the same ones
+    private final Map<Long, String> departmentNamesById;
+    private final Map<Long, String> projectNamesById;
+
+    private final Dictionary departments;
+    private final Dictionary projects;
+
+    private EmployeeSnapshot(Builder builder) {
+        List<Row> rows = new ArrayList<>(builder.rows.values());
+        rows.sort(Comparator.comparingLong(Row::id));
+        size = rows.size();
+        chunks = new Chunk[chunkCount(size)];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new Chunk();
+        }
+        departmentNamesById = builder.departmentNames;
+        projectNamesById = builder.projectNames;
+        departments = new Dictionary();
+        projects = new Dictionary();
+
+        for (int i = 0; i < size; i++) {
+            place(i, rows.get(i));
+        }
+        for (int i = 0; i < size; i++) {
+            resolveManager(i);
+        }
+    }
+
+    // Copies only the chunks holding replaced or appended rows; row numbers of existing employees do not move
+    private EmployeeSnapshot(EmployeeSnapshot base, Map<Integer, Row> replaced, List<Row> appended) {
+        size = base.size + appended.size();
+        chunks = Arrays.copyOf(base.chunks, chunkCount(size));
+        departmentNamesById = base.departmentNamesById;
+        projectNamesById = base.projectNamesById;
+        departments = new Dictionary(base.departments);
+        projects = new Dictionary(base.projects);
+
+        Set<Integer> touched = new HashSet<>();
+        for (int row : replaced.keySet()) {
+            touched.add(row >>> CHUNK_SHIFT);
+        }
+        for (int row = base.size; row < size; row++) {
+            touched.add(row >>> CHUNK_SHIFT);
+        }
+        for (int c : touched) {
+            chunks[c] = c < base.chunks.length ? base.chunks[c].copy() : new Chunk();
+        }
+
+        for (Map.Entry<Integer, Row> entry : replaced.entrySet()) {
+            unplace(entry.getKey());
+            place(entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < appended.size(); i++) {
+            place(base.size + i, appended.get(i));
+        }
+        for (int row : replaced.keySet()) {
+            resolveManager(row);
+        }
+        for (int row = base.size; row < size; row++) {
+            resolveManager(row);
+        }
+    }
+
+    static Builder builder(Map<Long, String> departmentNames, Map<Long, String> projectNames) {
+        return new Builder(departmentNames, projectNames);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Up to limit employees with id > afterId matching both lists; a null or empty list matches everyone
+    List<EmployeeResponseDTO> page(List<String> departments, List<String> projects, Long afterId, int limit) {
+        BitSet matches = null;
+        if (hasValues(departments)) {
+            matches = union(departments, this.departments.members);
+        }
+        if (hasValues(projects)) {
+            BitSet projectRows = union(projects, this.projects.members);
+            if (matches == null) {
+                matches = projectRows;
+            } else {
+                matches.and(projectRows);
+            }
+        }
+
+        List<EmployeeResponseDTO> page = new ArrayList<>(Math.min(limit, 1024));
+        int row = afterId == null ? 0 : firstRowAfter(afterId);
+        while (page.size() < limit) {
+            if (matches != null) {
+                row = matches.nextSetBit(row);
+                if (row < 0) {
+                    break;
+                }
+            } else if (row >= size) {
+                break;
+            }
+            page.add(toResponseDTO(row));
+            row++;
+        }
+        return page;
+    }
+
+    // The snapshot with the changed employees' rows, re-read into changes, patched in. Null when a patch
+    // cannot express the change and the caller has to rebuild: a name table changed, one of the
+    // employees is gone, or a new employee's id is not above every existing one.
+    EmployeeSnapshot patch(Builder changes, Collection<Long> employeeIds) {
+        if (!departmentNamesById.equals(changes.departmentNames) || !projectNamesById.equals(changes.projectNames)) {
+            return null;
+        }
+        long lastId = size == 0 ? Long.MIN_VALUE : chunk(size - 1).ids[slot(size - 1)];
+        Map<Integer, Row> replaced = new HashMap<>();
+        List<Row> appended = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            Row row = changes.rows.get(employeeId);
+            int existing = rowOf(employeeId);
+            if (row == null) {
+                if (existing >= 0) {
+                    return null;
+                }
+            } else if (existing >= 0) {
+                replaced.put(existing, row);
+            } else if (employeeId > lastId) {
+                appended.add(row);
+            } else {
+                return null;
+            }
+        }
+        appended.sort(Comparator.comparingLong(Row::id));
+        return new EmployeeSnapshot(this, replaced, appended);
+    }
+
+    // Carries every row except the given employees over into a new snapshot
+    void copyRowsTo(Builder builder, Set<Long> exceptEmployeeIds) {
+        for (int i = 0; i < size; i++) {
+            Chunk chunk = chunk(i);
+            int slot = slot(i);
+            if (!exceptEmployeeIds.contains(chunk.ids[slot])) {
+                builder.rows.put(chunk.ids[slot], chunk.row(slot));
+            }
+        }
+    }
+
+    private void place(int row, Row values) {
+        Chunk chunk = chunk(row);
+        int slot = slot(row);
+        chunk.ids[slot] = values.id();
+        chunk.names[slot] = values.name();
+        chunk.emails[slot] = values.email();
+        chunk.datesOfJoining[slot] = values.dateOfJoining();
+        chunk.salaries[slot] = values.salary();
+        chunk.departmentIds[slot] = values.departmentId();
+        chunk.managerIds[slot] = values.managerId();
+        chunk.projectIds[slot] = values.projectIds();
+
+        String departmentName = departmentNamesById.get(values.departmentId());
+        chunk.departmentCodes[slot] = departmentName == null ? NONE : departments.add(departmentName, row);
+        for (long projectId : values.projectIds()) {
+            // Projects deleted since the row was read are skipped, as their assignments are gone too
+            String projectName = projectNamesById.get(projectId);
+            if (projectName != null) {
+                projects.add(projectName, row);
+            }
+        }
+    }
+
+    // Takes the row out of the name bitsets it is in, before place puts its new values in
+    private void unplace(int row) {
+        Chunk chunk = chunk(row);
+        int slot = slot(row);
+        if (chunk.departmentCodes[slot] != NONE) {
+            departments.remove(departments.names.get(chunk.departmentCodes[slot]), row);
+        }
+        for (long projectId : chunk.projectIds[slot]) {
+            String projectName = projectNamesById.get(projectId);
+            if (projectName != null) {
+                projects.remove(projectName, row);
+            }
+        }
+    }
+
+    private void resolveManager(int row) {
+        Chunk chunk = chunk(row);
+        int slot = slot(row);
+        long managerId = chunk.managerIds[slot];
+        chunk.managerRows[slot] = managerId == NO_ID ? NONE : Math.max(NONE, rowOf(managerId));
+    }
+
+    private EmployeeResponseDTO toResponseDTO(int row) {
+        Chunk chunk = chunk(row);
+        int slot = slot(row);
+        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+        dto.setId(chunk.ids[slot]);
+        dto.setName(chunk.names[slot]);
+        dto.setEmail(chunk.emails[slot]);
+        dto.setDateOfJoining(chunk.datesOfJoining[slot]);
+        dto.setSalary(chunk.salaries[slot]);
+        int departmentCode = chunk.departmentCodes[slot];
+        dto.setDepartmentName(departmentCode == NONE ? null : departments.names.get(departmentCode));
+        int managerRow = chunk.managerRows[slot];
+        dto.setManagerName(managerRow == NONE ? null : chunk(managerRow).names[slot(managerRow)]);
+        return dto;
+    }
+
+    // Row of the employee, or -(insertion point) - 1 like Arrays.binarySearch
+    private int rowOf(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = chunk(mid).ids[slot(mid)];
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int firstRowAfter(long afterId) {
+        int found = rowOf(afterId);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private Chunk chunk(int row) {
+        return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    private static int slot(int row) {
+        return row & (CHUNK_SIZE - 1);
+    }
+
+    private static int chunkCount(int rows) {
+        return (rows + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+    }
+
+    // Names not in the dictionary have no members
+    private static BitSet union(List<String> names, Map<String, BitSet> members) {
+        BitSet rows = new BitSet();
+        for (String name : names) {
+            BitSet named = members.get(fold(name));
+            if (named != null) {
+                rows.or(named);
+            }
+        }
+        return rows;
+    }
+
+    // Filters match names the way MySQL's default collation compares them: ignoring case and trailing spaces
+    private static String fold(String name) {
+        return name == null ? null : name.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasValues(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private record Row(long id, String name, String email, LocalDate dateOfJoining, double salary,
+                       long departmentId, long managerId, long[] projectIds) {
+    }
+
+    // CHUNK_SIZE consecutive rows. departmentIds, managerIds and projectIds are the raw foreign keys,
+    // kept so a refresh can carry rows over without reading them again.
+    private static final class Chunk {
+        private final long[] ids = new long[CHUNK_SIZE];
+        private final String[] names = new String[CHUNK_SIZE];
+        private final String[] emails = new String[CHUNK_SIZE];
+        private final LocalDate[] datesOfJoining = new LocalDate[CHUNK_SIZE];
+        private final double[] salaries = new double[CHUNK_SIZE];
+        private final int[] departmentCodes = new int[CHUNK_SIZE];
+        private final int[] managerRows = new int[CHUNK_SIZE];
+        private final long[] departmentIds = new long[CHUNK_SIZE];
+        private final long[] managerIds = new long[CHUNK_SIZE];
+        private final long[][] projectIds = new long[CHUNK_SIZE][];
+
+        Chunk copy() {
+            Chunk copy = new Chunk();
+            System.arraycopy(ids, 0, copy.ids, 0, CHUNK_SIZE);
+            System.arraycopy(names, 0, copy.names, 0, CHUNK_SIZE);
+            System.arraycopy(emails, 0, copy.emails, 0, CHUNK_SIZE);
+            System.arraycopy(datesOfJoining, 0, copy.datesOfJoining, 0, CHUNK_SIZE);
+            System.arraycopy(salaries, 0, copy.salaries, 0, CHUNK_SIZE);
+            System.arraycopy(departmentCodes, 0, copy.departmentCodes, 0, CHUNK_SIZE);
+            System.arraycopy(managerRows, 0, copy.managerRows, 0, CHUNK_SIZE);
+            System.arraycopy(departmentIds, 0, copy.departmentIds, 0, CHUNK_SIZE);
+            System.arraycopy(managerIds, 0, copy.managerIds, 0, CHUNK_SIZE);
+            System.arraycopy(projectIds, 0, copy.projectIds, 0, CHUNK_SIZE);
+            return copy;
+        }
+
+        Row row(int slot) {
+            return new Row(ids[slot], names[slot], emails[slot], datesOfJoining[slot], salaries[slot],
+                    departmentIds[slot], managerIds[slot], projectIds[slot]);
+        }
+    }
+
+    // Codes index the distinct names as stored; members are keyed by the folded name filters look up.
+    // A patch works on a copy that shares the bitsets and copies each one the first time it changes it.
+    private static final class Dictionary {
+        private final List<String> names;
+        private final Map<String, Integer> codes;
+        private final Map<String, BitSet> members;
+        private final Set<String> copiedMembers;
+
+        Dictionary() {
+            names = new ArrayList<>();
+            codes = new HashMap<>();
+            members = new HashMap<>();
+            copiedMembers = null;
+        }
+
+        Dictionary(Dictionary base) {
+            names = new ArrayList<>(base.names);
+            codes = new HashMap<>(base.codes);
+            members = new HashMap<>(base.members);
+            copiedMembers = new HashSet<>();
+        }
+
+        int add(String name, int row) {
+            memberRows(fold(name)).set(row);
+            return codes.computeIfAbsent(name, key -> {
+                names.add(name);
+                return names.size() - 1;
+            });
+        }
+
+        void remove(String name, int row) {
+            memberRows(fold(name)).clear(row);
+        }
+
+        private BitSet memberRows(String folded) {
+            BitSet rows = members.get(folded);
+            if (rows == null) {
+                rows = new BitSet();
+            } else if (copiedMembers == null || !copiedMembers.add(folded)) {
+                return rows;
+            } else {
+                rows = (BitSet) rows.clone();
+            }
+            members.put(folded, rows);
+            return rows;
+        }
+    }
+
+    static final class Builder {
+        private final Map<Long, String> departmentNames;
+        private final Map<Long, String> projectNames;
+        private final Map<Long, Row> rows = new HashMap<>();
+
+        private Builder(Map<Long, String> departmentNames, Map<Long, String> projectNames) {
+            this.departmentNames = departmentNames;
+            this.projectNames = projectNames;
+        }
+
+        Builder addEmployee(long id, String name, String email, LocalDate dateOfJoining, double salary,
+                            Long departmentId, Long managerId) {
+            rows.put(id, new Row(id, name, email, dateOfJoining, salary,
+                    departmentId == null ? NO_ID : departmentId,
+                    managerId == null ? NO_ID : managerId,
+                    NO_PROJECTS));
+            return this;
+        }
+
+        // Call after addEmployee; memberships of employees that were not added are ignored
+        Builder addMembership(long employeeId, long projectId) {
+            Row row = rows.get(employeeId);
+            if (row != null) {
+                long[] projectIds = Arrays.copyOf(row.projectIds(), row.projectIds().length + 1);
+                projectIds[projectIds.length - 1] = projectId;
+                rows.put(employeeId, new Row(row.id(), row.name(), row.email(), row.dateOfJoining(), row.salary(),
+                        row.departmentId(), row.managerId(), projectIds));
+            }
+            return this;
+        }
+
+        EmployeeSnapshot build() {
+            return new EmployeeSnapshot(this);
+        }
+    }
+}
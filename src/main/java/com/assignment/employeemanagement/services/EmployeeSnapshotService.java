@@ -0,0 +1,152 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.*;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.repositories.EmployeeSnapshotRepository;
+import com.assignment.employeemanagement.repositories.EmployeeSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Optional in-memory answer to the department/project employee filter (employees.snapshot.enabled).
+// Employee and assignment changes re-read only those employees on the next scheduled refresh, and
+// department/project changes re-read the name tables. Review criteria, and requests made before the
+// first build, go to SQL, which also checks a sample of snapshot pages (employees.snapshot.verify-sample-rate).
+@Slf4j
+@Service
+public class EmployeeSnapshotService {
+
+    @Autowired
+    private EmployeeSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
+    @Value("${employees.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employees.snapshot.full-rebuild-interval-ms:3600000}")
+    private long fullRebuildIntervalMs;
+
+    @Value("${employees.snapshot.verify-sample-rate:0.01}")
+    private double verifySampleRate;
+
+    private final Set<Long> changedEmployeeIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean namesChanged = new AtomicBoolean();
+    private final RefreshingSnapshot<EmployeeSnapshot> snapshot = new RefreshingSnapshot<>(
+            "employee snapshot", rebuilt -> rebuilt.size() + " employees");
+
+    public boolean canAnswer(EmployeeFilterDTO filterDTO) {
+        return enabled && snapshot.get() != null && !EmployeeSpecifications.hasReviewCriteria(filterDTO);
+    }
+
+    // Only call when canAnswer; sql computes the same page from the database
+    public List<EmployeeResponseDTO> findPage(EmployeeFilterDTO filterDTO, Long afterId, int limit,
+                                              Supplier<List<EmployeeResponseDTO>> sql) {
+        List<EmployeeResponseDTO> page = snapshot.get().page(filterDTO.getDepartments(), filterDTO.getProjects(), afterId, limit);
+        if (verifySampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= verifySampleRate) {
+            return page;
+        }
+
+        List<EmployeeResponseDTO> expected = sql.get();
+        if (expected.equals(page)) {
+            return page;
+        }
+        // Usually a change not yet refreshed into the snapshot; a rebuild also repairs anything missed
+        meterRegistry.counter("employees.snapshot.mismatches").increment();
+        log.warn("Employee snapshot page differs from SQL for {}, rebuilding the snapshot", filterDTO);
+        snapshot.requestRebuild();
+        return expected;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDataChanged(EmployeeDataChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Class<?> type = event.getEntityType();
+        if (Employee.class.equals(type) && event.getChangeType() == EmployeeDataChangedEvent.ChangeType.DELETED) {
+            // The database clears manager_id of the employee's reports without any event
+            snapshot.requestRebuild();
+        } else if ((Employee.class.equals(type) || EmployeeProject.class.equals(type)) && event.getEmployeeId() != null) {
+            changedEmployeeIds.add(event.getEmployeeId());
+        } else if (Department.class.equals(type) || Project.class.equals(type)) {
+            namesChanged.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.snapshot.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        EmployeeSnapshot previous = snapshot.get();
+        snapshot.refresh(fullRebuildIntervalMs, this::rebuild, this::applyChanges);
+        if (snapshot.get() != previous) {
+            // Pages cached or tagged before this swap may predate changes the new snapshot includes
+            cacheInvalidator.filterResultsChanged();
+            employeeVersions.listsChanged();
+        }
+    }
+
+    private EmployeeSnapshot rebuild() {
+        changedEmployeeIds.clear();
+        namesChanged.set(false);
+
+        return RefreshingSnapshot.readConsistently(transactionManager, () -> {
+            EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(
+                    snapshotRepository.findDepartmentNames(), snapshotRepository.findProjectNames());
+            snapshotRepository.forEachEmployee(builder::addEmployee);
+            snapshotRepository.forEachMembership(builder::addMembership);
+            return builder.build();
+        });
+    }
+
+    // Re-reads the changed employees and patches them into a copy of the snapshot; readers keep the old one
+    private EmployeeSnapshot applyChanges(EmployeeSnapshot current) {
+        boolean reloadNames = namesChanged.getAndSet(false);
+        if (changedEmployeeIds.isEmpty() && !reloadNames) {
+            return current;
+        }
+        List<Long> employeeIds = new ArrayList<>(changedEmployeeIds);
+        changedEmployeeIds.removeAll(employeeIds);
+
+        return RefreshingSnapshot.readConsistently(transactionManager, () -> {
+            EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(
+                    snapshotRepository.findDepartmentNames(), snapshotRepository.findProjectNames());
+            for (List<Long> batch : PendingReviews.batches(employeeIds)) {
+                snapshotRepository.forEachEmployee(batch, builder::addEmployee);
+                snapshotRepository.forEachMembership(batch, builder::addMembership);
+            }
+            EmployeeSnapshot patched = current.patch(builder, employeeIds);
+            if (patched != null) {
+                return patched;
+            }
+            // Renamed departments or projects, or employees deleted meanwhile: re-encode every row
+            current.copyRowsTo(builder, new HashSet<>(employeeIds));
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.entities.EmployeeProject;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory version counters behind the weak ETags of the list and detail endpoints, fed by the
+// events EmployeeDataChangeListener publishes for Employee, PerformanceReview and EmployeeProject
+// (and Department/Project) writes. Tags carry a per-process epoch, so after a restart or on another
+// instance they simply stop matching. Callers must compute the tag before loading the data.
+@Component
+public class EmployeeVersions {
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Long, Long> employeeVersions = new ConcurrentHashMap<>();
+
+    // Changes that can reach any employee's detail: names copied into other employees' responses
+    private final AtomicLong sharedVersion = new AtomicLong();
+
+    // Every change can alter some list page
+    private final AtomicLong listVersion = new AtomicLong();
+
+    // The representation (Accept header) is part of the tag: JSON and Smile bodies must not match each other
+    public String detailETag(long employeeId, String representation) {
+        return weakETag("d", sharedVersion.get(), employeeVersions.getOrDefault(employeeId, 0L),
+                hash(representation));
+    }
+
+    public String listETag(EmployeeFilterDTO filterDTO, String representation) {
+        return weakETag("l", listVersion.get(), EmployeeFilterKey.of(filterDTO).hashCode(), hash(representation));
+    }
+
+    // For list sources that publish changes later than the commit, e.g. the employee snapshot
+    public void listsChanged() {
+        listVersion.incrementAndGet();
+    }
+
+    // Mirrors EmployeeCacheInvalidator's scoping and runs after it, so a request that sees the new
+    // version can no longer be served the old cached response
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDataChanged(EmployeeDataChangedEvent event) {
+        listVersion.incrementAndGet();
+
+        Class<?> type = event.getEntityType();
+        boolean employeeScoped = PerformanceReview.class.equals(type) || EmployeeProject.class.equals(type);
+        boolean newEmployee = Employee.class.equals(type)
+                && event.getChangeType() == EmployeeDataChangedEvent.ChangeType.CREATED;
+
+        if ((employeeScoped || newEmployee) && event.getEmployeeId() != null) {
+            employeeVersions.merge(event.getEmployeeId(), 1L, Long::sum);
+        } else {
+            sharedVersion.incrementAndGet();
+        }
+    }
+
+    private String weakETag(String kind, long... parts) {
+        StringBuilder tag = new StringBuilder("W/\"").append(kind).append('-').append(epoch);
+        for (long part : parts) {
+            tag.append('-').append(Long.toString(part, 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    private static long hash(String representation) {
+        return representation == null ? 0 : representation.hashCode();
+    }
+}
@@ -0,0 +1,103 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.events.ImportedReviews;
+import com.assignment.employeemanagement.repositories.PerformanceAggregateRepository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Inserted reviews (saved through JPA or bulk imported) that an in-memory read model has not applied
+// yet. Filled by after-commit listeners and drained by the model's scheduled refresh.
+final class PendingReviews {
+    static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
+    record PendingReview(long reviewId, long employeeId, LocalDate reviewDate, double score) {
+    }
+
+    private final Queue<PendingReview> queue = new ConcurrentLinkedQueue<>();
+    // Highest review id the last rebuild's snapshot could see
+    private volatile long rebuiltThroughId;
+
+    // True for review inserts, one at a time through JPA or a chunk of a bulk import; false for any
+    // other change
+    boolean offer(EmployeeDataChangedEvent event) {
+        if (event.getChangeType() != EmployeeDataChangedEvent.ChangeType.CREATED) {
+            return false;
+        }
+        if (event.getEntity() instanceof PerformanceReview review && event.getEmployeeId() != null) {
+            queue.add(new PendingReview(review.getId(), event.getEmployeeId(),
+                    review.getReviewDate(), review.getScore()));
+            return true;
+        }
+        if (event.getEntity() instanceof ImportedReviews imported) {
+            for (ImportedReviews.Review review : imported.reviews()) {
+                queue.add(new PendingReview(review.reviewId(), review.employeeId(),
+                        review.reviewDate(), review.score()));
+            }
+            return true;
+        }
+        return false;
+    }
+
+    void clear() {
+        queue.clear();
+    }
+
+    // Reviews the last rebuild cannot have seen. An after-commit listener can run after the rebuild
+    // scan has finished, so a review at or below the rebuild's high-water id may already be counted,
+    // or may have committed after the snapshot started; either way it is dropped and onUncertain
+    // is called so the model rebuilds again instead of risking applying it twice.
+    List<PendingReview> drain(Runnable onUncertain) {
+        List<PendingReview> unseen = new ArrayList<>();
+        boolean uncertain = false;
+        for (PendingReview review : drainAll()) {
+            if (review.reviewId() > rebuiltThroughId) {
+                unseen.add(review);
+            } else {
+                uncertain = true;
+            }
+        }
+        if (uncertain) {
+            onUncertain.run();
+        }
+        return unseen;
+    }
+
+    // Called at the end of a rebuild scan: reviews committed while scanning may or may not be in
+    // the transaction's snapshot, so only the ones it cannot see are returned for applying on top
+    List<PendingReview> drainInvisible(PerformanceAggregateRepository repository) {
+        rebuiltThroughId = repository.findMaxReviewId();
+        List<PendingReview> arrived = drainAll();
+        Set<Long> visible = new HashSet<>();
+        for (List<PendingReview> batch : batches(arrived)) {
+            visible.addAll(repository.findVisibleReviewIds(batch.stream().map(PendingReview::reviewId).toList()));
+        }
+        List<PendingReview> missed = new ArrayList<>();
+        for (PendingReview review : arrived) {
+            if (!visible.contains(review.reviewId())) {
+                missed.add(review);
+            }
+        }
+        return missed;
+    }
+
+    private List<PendingReview> drainAll() {
+        List<PendingReview> drained = new ArrayList<>();
+        PendingReview review;
+        while ((review = queue.poll()) != null) {
+            drained.add(review);
+        }
+        return drained;
+    }
+
+    static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += IN_CLAUSE_BATCH_SIZE) {
+            batches.add(items.subList(from, Math.min(from + IN_CLAUSE_BATCH_SIZE, items.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,189 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ScoreStatsDTO;
+import com.assignment.employeemanagement.entities.*;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.exceptions.ResourceNotFoundException;
+import com.assignment.employeemanagement.exceptions.ServiceNotReadyException;
+import com.assignment.employeemanagement.repositories.DepartmentRepository;
+import com.assignment.employeemanagement.repositories.PerformanceAggregateRepository;
+import com.assignment.employeemanagement.repositories.ProjectRepository;
+import com.assignment.employeemanagement.services.PendingReviews.PendingReview;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+// In-memory review score rollup per department and per project, by review date. Reads only touch
+// the published snapshot. New reviews, saved through JPA or bulk imported, are queued after commit
+// and folded in by the scheduled refresh; every other relevant change (updates, deletes,
+// reassignments) schedules a full rebuild, as does the periodic reconciliation interval.
+@Service
+public class PerformanceAggregateService {
+    @Autowired
+    private PerformanceAggregateRepository aggregateRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${employees.aggregates.full-rebuild-interval-ms:3600000}")
+    private long fullRebuildIntervalMs;
+
+    private final PendingReviews pending = new PendingReviews();
+    private final RefreshingSnapshot<Rollup> rollup = new RefreshingSnapshot<>("score aggregates",
+            rebuilt -> rebuilt.departments().size() + " departments, " + rebuilt.projects().size() + " projects");
+
+    private record Rollup(Map<Long, String> departmentNames, Map<Long, String> projectNames,
+                          Map<Long, NavigableMap<LocalDate, ScoreAggregate>> departments,
+                          Map<Long, NavigableMap<LocalDate, ScoreAggregate>> projects) {
+    }
+
+    public ScoreStatsDTO getDepartmentStats(Long departmentId, LocalDate reviewDate) {
+        Rollup current = published();
+        return toStats(departmentId, reviewDate, current.departmentNames(), current.departments(),
+                id -> departmentRepository.findById(id).map(Department::getName), "Department");
+    }
+
+    public ScoreStatsDTO getProjectStats(Long projectId, LocalDate reviewDate) {
+        Rollup current = published();
+        return toStats(projectId, reviewDate, current.projectNames(), current.projects(),
+                id -> projectRepository.findById(id).map(Project::getName), "Project");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDataChanged(EmployeeDataChangedEvent event) {
+        if (pending.offer(event)) {
+            return;
+        }
+        // New employees have no reviews yet; new departments and projects are looked up on read
+        Class<?> type = event.getEntityType();
+        if (event.getChangeType() == EmployeeDataChangedEvent.ChangeType.CREATED
+                && (Employee.class.equals(type) || Department.class.equals(type) || Project.class.equals(type))) {
+            return;
+        }
+        rollup.requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${employees.aggregates.refresh-interval-ms:1000}")
+    public void refresh() {
+        rollup.refresh(fullRebuildIntervalMs, this::rebuild,
+                current -> apply(current, pending.drain(rollup::requestRebuild)));
+    }
+
+    private Rollup rebuild() {
+        pending.clear();
+        List<PendingReview> missed = new ArrayList<>();
+        Rollup rebuilt = RefreshingSnapshot.readConsistently(transactionManager, () -> {
+            Updater departments = new Updater(Map.of());
+            Updater projects = new Updater(Map.of());
+            aggregateRepository.forEachDepartmentScore(departments::add);
+            aggregateRepository.forEachProjectScore(projects::add);
+
+            missed.addAll(pending.drainInvisible(aggregateRepository));
+
+            return new Rollup(aggregateRepository.findDepartmentNames(), aggregateRepository.findProjectNames(),
+                    departments.groups, projects.groups);
+        });
+        return apply(rebuilt, missed);
+    }
+
+    // Copies only the groups and aggregates the reviews touch; readers keep the old snapshot
+    private Rollup apply(Rollup current, List<PendingReview> reviews) {
+        if (reviews.isEmpty()) {
+            return current;
+        }
+
+        Map<Long, Long> departmentIds = new HashMap<>();
+        Map<Long, List<Long>> projectIds = new HashMap<>();
+        for (List<PendingReview> batch : PendingReviews.batches(reviews)) {
+            List<Long> employeeIds = batch.stream().map(PendingReview::employeeId).distinct().toList();
+            departmentIds.putAll(aggregateRepository.findDepartmentIds(employeeIds));
+            projectIds.putAll(aggregateRepository.findProjectIds(employeeIds));
+        }
+
+        Updater departments = new Updater(current.departments());
+        Updater projects = new Updater(current.projects());
+        for (PendingReview review : reviews) {
+            Long departmentId = departmentIds.get(review.employeeId());
+            if (departmentId != null) {
+                departments.add(departmentId, review.reviewDate(), review.score());
+            }
+            for (Long projectId : projectIds.getOrDefault(review.employeeId(), List.of())) {
+                projects.add(projectId, review.reviewDate(), review.score());
+            }
+        }
+        return new Rollup(current.departmentNames(), current.projectNames(), departments.groups, projects.groups);
+    }
+
+    private Rollup published() {
+        Rollup current = rollup.get();
+        if (current == null) {
+            throw new ServiceNotReadyException("Score aggregates are still being built");
+        }
+        return current;
+    }
+
+    private ScoreStatsDTO toStats(Long id, LocalDate reviewDate, Map<Long, String> names,
+                                 Map<Long, NavigableMap<LocalDate, ScoreAggregate>> groups,
+                                 Function<Long, Optional<String>> lookupName, String label) {
+        String name = names.get(id);
+        if (name == null) {
+            // Created after the last rebuild
+            name = lookupName.apply(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(label + " not found with id: " + id));
+        }
+
+        ScoreStatsDTO stats = new ScoreStatsDTO();
+        stats.setId(id);
+        stats.setName(name);
+        NavigableMap<LocalDate, ScoreAggregate> byReviewDate = groups.getOrDefault(id, Collections.emptyNavigableMap());
+        if (reviewDate != null) {
+            ScoreAggregate aggregate = byReviewDate.get(reviewDate);
+            if (aggregate != null) {
+                stats.getReviewDates().add(aggregate.toStats(reviewDate));
+            }
+        } else {
+            byReviewDate.forEach((date, aggregate) -> stats.getReviewDates().add(aggregate.toStats(date)));
+        }
+        return stats;
+    }
+
+    // Copy-on-write view over a published group map: each group and aggregate is copied at most once
+    private static final class Updater {
+        private final Map<Long, NavigableMap<LocalDate, ScoreAggregate>> groups;
+        private final Set<Long> copiedGroups = new HashSet<>();
+        private final Set<ScoreAggregate> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Updater(Map<Long, NavigableMap<LocalDate, ScoreAggregate>> published) {
+            this.groups = new HashMap<>(published);
+        }
+
+        void add(long groupId, LocalDate reviewDate, double score) {
+            NavigableMap<LocalDate, ScoreAggregate> byReviewDate = groups.get(groupId);
+            if (copiedGroups.add(groupId)) {
+                byReviewDate = byReviewDate == null ? new TreeMap<>() : new TreeMap<>(byReviewDate);
+                groups.put(groupId, byReviewDate);
+            }
+
+            ScoreAggregate aggregate = byReviewDate.get(reviewDate);
+            if (aggregate == null || !owned.contains(aggregate)) {
+                aggregate = aggregate == null ? new ScoreAggregate() : aggregate.copy();
+                owned.add(aggregate);
+                byReviewDate.put(reviewDate, aggregate);
+            }
+            aggregate.add(score);
+        }
+    }
+}
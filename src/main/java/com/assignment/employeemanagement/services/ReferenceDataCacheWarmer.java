@@ -0,0 +1,39 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.repositories.DepartmentRepository;
+import com.assignment.employeemanagement.repositories.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+// Loads every department and project into the second-level cache once the application is up, so the
+// first requests after a deploy find their department/project proxies already cached
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employees.reference-cache.warm-on-startup", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataCacheWarmer {
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            long start = System.nanoTime();
+            int departments = departmentRepository.findAll().size();
+            int projects = projectRepository.findAll().size();
+            log.info("Warmed second-level cache with {} departments and {} projects in {} ms",
+                    departments, projects, (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException ex) {
+            // A cold cache only costs latency; it must not stop the application
+            log.warn("Could not warm the second-level cache", ex);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.assignment.employeemanagement.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// The published snapshot of an in-memory read model and the refresh policy the read models share.
+// A refresh rebuilds the snapshot when none is published yet, a rebuild was requested or the full
+// rebuild interval has passed; otherwise the model derives the next snapshot from the current one.
+// Readers always see a whole snapshot, and a failed read keeps the previous one.
+@Slf4j
+final class RefreshingSnapshot<T> {
+    private final String name;
+    private final Function<T, String> summary;
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private volatile T current;
+    private volatile long lastRebuildNanos;
+
+    RefreshingSnapshot(String name, Function<T, String> summary) {
+        this.name = name;
+        this.summary = summary;
+    }
+
+    // Null until the first rebuild finishes
+    T get() {
+        return current;
+    }
+
+    void requestRebuild() {
+        rebuildRequested.set(true);
+    }
+
+    // The request flag is cleared before rebuild runs, so rebuild may drop the changes queued so far:
+    // they were committed before its scan starts, and the scan will see them. update returns its
+    // argument when there is nothing to apply.
+    void refresh(long fullRebuildIntervalMs, Supplier<T> rebuild, UnaryOperator<T> update) {
+        try {
+            T published = current;
+            if (published == null || rebuildRequested.get()
+                    || System.nanoTime() - lastRebuildNanos > fullRebuildIntervalMs * 1_000_000) {
+                long started = System.nanoTime();
+                rebuildRequested.set(false);
+                T rebuilt = rebuild.get();
+                current = rebuilt;
+                lastRebuildNanos = System.nanoTime();
+                log.info("Rebuilt {} ({}) in {} ms", name, summary.apply(rebuilt),
+                        (lastRebuildNanos - started) / 1_000_000);
+            } else {
+                current = update.apply(published);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Refresh of {} failed, serving the previous snapshot", name, ex);
+        }
+    }
+
+    // One read-only REPEATABLE READ transaction, so every query of a rebuild sees the same data
+    static <R> R readConsistently(PlatformTransactionManager transactionManager, Supplier<R> read) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transaction.execute(status -> read.get());
+    }
+}
@@ -0,0 +1,184 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ReviewImportRow;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads bulk-import reviews one line at a time from a request body, without buffering it.
+// A malformed line throws IllegalArgumentException from next(); reading can continue afterwards.
+// A missing or incomplete CSV header throws BadRequestException when the reader is created.
+public abstract class ReviewImportReader implements Closeable {
+    private final BufferedReader reader;
+    private long line;
+
+    private ReviewImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    // CSV with a header row naming employeeId, reviewDate, score and optionally reviewComments.
+    // Fields may be double-quoted; quoted fields cannot span lines. A missing or incomplete
+    // header fails here, before any row is read.
+    public static ReviewImportReader csv(InputStream input) throws IOException {
+        return new CsvReader(input);
+    }
+
+    // One JSON object per line with the same field names
+    public static ReviewImportReader ndjson(InputStream input, ObjectMapper objectMapper) {
+        return new NdjsonReader(input, objectMapper.readerFor(ReviewImportRow.class));
+    }
+
+    // Returns null at the end of the input
+    public ReviewImportRow next() throws IOException {
+        String text = nextLine();
+        if (text == null) {
+            return null;
+        }
+        ReviewImportRow row = parse(text);
+        row.setLine(line);
+        return row;
+    }
+
+    // Skips blank lines
+    protected String nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        return text;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    protected abstract ReviewImportRow parse(String text);
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class NdjsonReader extends ReviewImportReader {
+        private final ObjectReader objectReader;
+
+        private NdjsonReader(InputStream input, ObjectReader objectReader) {
+            super(input);
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        protected ReviewImportRow parse(String text) {
+            ReviewImportRow row;
+            try {
+                row = objectReader.readValue(text);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+            }
+            // A line holding the JSON literal null
+            if (row == null) {
+                throw new IllegalArgumentException("Malformed JSON: expected an object, found null");
+            }
+            return row;
+        }
+    }
+
+    private static final class CsvReader extends ReviewImportReader {
+        private final Map<String, Integer> columns;
+
+        private CsvReader(InputStream input) throws IOException {
+            super(input);
+            String header = nextLine();
+            if (header == null) {
+                throw new BadRequestException("CSV input is empty");
+            }
+            columns = header(split(header));
+        }
+
+        @Override
+        protected ReviewImportRow parse(String text) {
+            List<String> fields = split(text);
+            ReviewImportRow row = new ReviewImportRow();
+            String employeeId = field(fields, "employeeid");
+            String reviewDate = field(fields, "reviewdate");
+            String score = field(fields, "score");
+            try {
+                row.setEmployeeId(employeeId == null ? null : Long.valueOf(employeeId));
+                row.setReviewDate(reviewDate == null ? null : LocalDate.parse(reviewDate));
+                row.setScore(score == null ? null : Double.valueOf(score));
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new IllegalArgumentException("Malformed CSV value: " + ex.getMessage());
+            }
+            row.setReviewComments(field(fields, "reviewcomments"));
+            return row;
+        }
+
+        private static Map<String, Integer> header(List<String> fields) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                header.put(fields.get(i).replace("_", "").toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("employeeid", "reviewdate", "score")) {
+                if (!header.containsKey(required)) {
+                    throw new BadRequestException("CSV header must name employeeId, reviewDate and score");
+                }
+            }
+            return header;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        // RFC 4180 quoting within a single line: "a ""quoted"" value"
+        private static List<String> split(String text) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString().trim());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString().trim());
+            return fields;
+        }
+    }
+}
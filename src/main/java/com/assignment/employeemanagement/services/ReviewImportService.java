@@ -0,0 +1,158 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ReviewImportResultDTO;
+import com.assignment.employeemanagement.dto.ReviewImportRow;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.events.ImportedReviews;
+import com.assignment.employeemanagement.repositories.PerformanceReviewBulkRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Streams reviews from a reader into the database in chunks. Each chunk is validated against
+// the employee table, written with JDBC batching and committed on its own, so a failure part way
+// through keeps the chunks before it.
+@Slf4j
+@Service
+@Timed(value = "employees.service", histogram = true)
+public class ReviewImportService {
+    private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    private PerformanceReviewBulkRepository bulkRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${employees.review-import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${employees.review-import.batch-size:500}")
+    private int batchSize;
+
+    public ReviewImportResultDTO importReviews(ReviewImportReader reader) throws IOException {
+        long started = System.nanoTime();
+        ReviewImportResultDTO result = new ReviewImportResultDTO();
+        List<ReviewImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try {
+            while (true) {
+                ReviewImportRow row;
+                try {
+                    row = reader.next();
+                } catch (IllegalArgumentException ex) {
+                    result.setRowsRead(result.getRowsRead() + 1);
+                    reject(result, reader.getLine(), ex.getMessage());
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                result.setRowsRead(result.getRowsRead() + 1);
+
+                String error = validate(row);
+                if (error != null) {
+                    reject(result, row.getLine(), error);
+                } else {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, result, started);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, result, started);
+            }
+            result.setCompleted(true);
+        } catch (DataAccessException ex) {
+            log.error("Review import stopped after {} committed chunks ({} rows)",
+                    result.getChunksCommitted(), result.getRowsImported(), ex);
+            result.setFailure(ex.getMostSpecificCause().getMessage());
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(result.getRowsImported() / Math.max(elapsedNanos / 1e9, 1e-3));
+        return result;
+    }
+
+    private void writeChunk(List<ReviewImportRow> chunk, ReviewImportResultDTO result, long started) {
+        Set<Long> existing = findExistingEmployeeIds(chunk);
+        List<ReviewImportRow> valid = new ArrayList<>(chunk.size());
+        for (ReviewImportRow row : chunk) {
+            if (existing.contains(row.getEmployeeId())) {
+                valid.add(row);
+            } else {
+                reject(result, row.getLine(), "Employee not found with id: " + row.getEmployeeId());
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            long firstId = bulkRepository.reserveIds(valid.size());
+            bulkRepository.insertReviews(valid, firstId, batchSize);
+            // JDBC writes bypass the entity listener; one event per chunk, carrying the inserted rows,
+            // refreshes the caches and lets the read models apply the chunk incrementally
+            eventPublisher.publishEvent(new EmployeeDataChangedEvent(
+                    PerformanceReview.class, EmployeeDataChangedEvent.ChangeType.CREATED, null, imported(valid, firstId)));
+        }
+
+        result.setRowsImported(result.getRowsImported() + valid.size());
+        result.setChunksCommitted(result.getChunksCommitted() + 1);
+        log.info("Review import: {} rows read, {} imported, {} rejected, {} chunks committed in {} ms",
+                result.getRowsRead(), result.getRowsImported(), result.getRowsRejected(),
+                result.getChunksCommitted(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // insertReviews numbers the rows consecutively from firstId
+    private static ImportedReviews imported(List<ReviewImportRow> rows, long firstId) {
+        List<ImportedReviews.Review> reviews = new ArrayList<>(rows.size());
+        long id = firstId;
+        for (ReviewImportRow row : rows) {
+            reviews.add(new ImportedReviews.Review(id++, row.getEmployeeId(), row.getReviewDate(), row.getScore()));
+        }
+        return new ImportedReviews(reviews);
+    }
+
+    private Set<Long> findExistingEmployeeIds(List<ReviewImportRow> chunk) {
+        List<Long> ids = chunk.stream().map(ReviewImportRow::getEmployeeId).distinct().toList();
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_BATCH_SIZE) {
+            existing.addAll(bulkRepository.findExistingEmployeeIds(
+                    ids.subList(from, Math.min(from + IN_CLAUSE_BATCH_SIZE, ids.size()))));
+        }
+        return existing;
+    }
+
+    private String validate(ReviewImportRow row) {
+        if (row.getEmployeeId() == null) {
+            return "employeeId is required";
+        }
+        if (row.getReviewDate() == null) {
+            return "reviewDate is required";
+        }
+        if (row.getScore() == null || row.getScore() < 0.0 || row.getScore() > 5.0) {
+            return "score must be between 0 and 5";
+        }
+        return null;
+    }
+
+    private void reject(ReviewImportResultDTO result, long line, String message) {
+        result.setRowsRejected(result.getRowsRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ReviewImportResultDTO.RowError(line, message));
+        }
+    }
+}
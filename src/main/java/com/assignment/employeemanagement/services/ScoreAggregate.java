@@ -0,0 +1,82 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ScoreStatsDTO;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Count, sum, min, max and an exact histogram of review scores. Scores are stored as DECIMAL(3,2)
+// between 0 and 5, so 501 buckets of 0.01 give exact percentiles. Instances are only mutated
+// before they are published; updates to a published aggregate go through copy().
+final class ScoreAggregate {
+    static final int BUCKETS = 501;
+
+    private final int[] histogram;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    ScoreAggregate() {
+        this.histogram = new int[BUCKETS];
+    }
+
+    private ScoreAggregate(ScoreAggregate source) {
+        this.histogram = Arrays.copyOf(source.histogram, BUCKETS);
+        this.count = source.count;
+        this.sum = source.sum;
+        this.min = source.min;
+        this.max = source.max;
+    }
+
+    ScoreAggregate copy() {
+        return new ScoreAggregate(this);
+    }
+
+    void add(double score) {
+        histogram[bucket(score)]++;
+        count++;
+        sum += score;
+        min = Math.min(min, score);
+        max = Math.max(max, score);
+    }
+
+    long count() {
+        return count;
+    }
+
+    // Nearest-rank percentile, 0 < percentile <= 1
+    double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank) {
+                return bucket / 100.0;
+            }
+        }
+        return max;
+    }
+
+    ScoreStatsDTO.ReviewDateStats toStats(LocalDate reviewDate) {
+        ScoreStatsDTO.ReviewDateStats stats = new ScoreStatsDTO.ReviewDateStats();
+        stats.setReviewDate(reviewDate);
+        stats.setCount(count);
+        stats.setAverage(count == 0 ? 0 : sum / count);
+        stats.setMin(count == 0 ? 0 : min);
+        stats.setMax(count == 0 ? 0 : max);
+        stats.setP25(percentile(0.25));
+        stats.setP50(percentile(0.50));
+        stats.setP75(percentile(0.75));
+        stats.setP90(percentile(0.90));
+        stats.setP99(percentile(0.99));
+        return stats;
+    }
+
+    static int bucket(double score) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.round(score * 100)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.assignment.employeemanagement.services;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Employees by score for one review date: the date's distinct employee ids, sorted, give each
+// employee a dense row, and each 0.01 score bucket holds a sorted int[] of rows (scores are
+// DECIMAL(3,2) between 0 and 5, so bucketing loses nothing). An employee with several reviews on
+// the date is listed once per review. Instances are immutable; plus() shares every bucket it does
+// not touch unless new employees shift existing rows.
+final class ScoreIndex {
+    private static final long[] NO_EMPLOYEES = new long[0];
+    private static final int[] NO_ROWS = new int[0];
+
+    static final ScoreIndex EMPTY = new ScoreIndex(NO_EMPLOYEES, emptyBuckets(), 0);
+
+    private final long[] employeeIds;
+    private final int[][] rowsByBucket;
+    private final int size;
+
+    @FunctionalInterface
+    interface Visitor {
+        // Return false to stop
+        boolean visit(long employeeId, double score);
+    }
+
+    private ScoreIndex(long[] employeeIds, int[][] rowsByBucket, int size) {
+        this.employeeIds = employeeIds;
+        this.rowsByBucket = rowsByBucket;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int bucketCount(int bucket) {
+        return rowsByBucket[bucket].length;
+    }
+
+    // Distinct ids with a review scored within [minScore, maxScore], ascending
+    long[] employeeIds(double minScore, double maxScore) {
+        int from = Math.max(0, (int) Math.ceil(minScore * 100 - 1e-6));
+        int to = Math.min(ScoreAggregate.BUCKETS - 1, (int) Math.floor(maxScore * 100 + 1e-6));
+        BitSet rows = new BitSet(employeeIds.length);
+        for (int bucket = from; bucket <= to; bucket++) {
+            for (int row : rowsByBucket[bucket]) {
+                rows.set(row);
+            }
+        }
+
+        long[] ids = new long[rows.cardinality()];
+        int length = 0;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            ids[length++] = employeeIds[row];
+        }
+        return ids;
+    }
+
+    // Each employee once, at their highest (descending) or lowest score; ties by ascending id
+    void walk(boolean descending, Visitor visitor) {
+        BitSet seen = new BitSet(employeeIds.length);
+        for (int i = 0; i < ScoreAggregate.BUCKETS; i++) {
+            int bucket = descending ? ScoreAggregate.BUCKETS - 1 - i : i;
+            for (int row : rowsByBucket[bucket]) {
+                if (!seen.get(row)) {
+                    seen.set(row);
+                    if (!visitor.visit(employeeIds[row], bucket / 100.0)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    ScoreIndex plus(Builder additions) {
+        long[] added = new long[additions.size];
+        int length = 0;
+        for (int bucket = 0; bucket < ScoreAggregate.BUCKETS; bucket++) {
+            System.arraycopy(additions.ids[bucket], 0, added, length, additions.lengths[bucket]);
+            length += additions.lengths[bucket];
+        }
+        Arrays.sort(added);
+        long[] employees = union(employeeIds, distinct(added));
+
+        int[][] buckets = rowsByBucket.clone();
+        if (employees.length > employeeIds.length && employeeIds.length > 0
+                && employees[employeeIds.length - 1] != employeeIds[employeeIds.length - 1]) {
+            // A new employee sorts before an existing one: renumber the existing rows
+            int[] newRows = new int[employeeIds.length];
+            for (int row = 0, newRow = 0; row < employeeIds.length; row++) {
+                while (employees[newRow] != employeeIds[row]) {
+                    newRow++;
+                }
+                newRows[row] = newRow;
+            }
+            for (int bucket = 0; bucket < ScoreAggregate.BUCKETS; bucket++) {
+                if (buckets[bucket].length == 0) {
+                    continue;
+                }
+                int[] rows = buckets[bucket].clone();
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = newRows[rows[i]];
+                }
+                buckets[bucket] = rows;
+            }
+        }
+
+        for (int bucket = 0; bucket < ScoreAggregate.BUCKETS; bucket++) {
+            if (additions.lengths[bucket] > 0) {
+                int[] merged = Arrays.copyOf(buckets[bucket], buckets[bucket].length + additions.lengths[bucket]);
+                for (int i = 0; i < additions.lengths[bucket]; i++) {
+                    merged[buckets[bucket].length + i] = Arrays.binarySearch(employees, additions.ids[bucket][i]);
+                }
+                Arrays.sort(merged);
+                buckets[bucket] = merged;
+            }
+        }
+        return new ScoreIndex(employees, buckets, size + additions.size);
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static final class Builder {
+        private final long[][] ids = new long[ScoreAggregate.BUCKETS][];
+        private final int[] lengths = new int[ScoreAggregate.BUCKETS];
+        private int size;
+
+        private Builder() {
+            Arrays.fill(ids, NO_EMPLOYEES);
+        }
+
+        Builder add(long employeeId, double score) {
+            int bucket = ScoreAggregate.bucket(score);
+            if (lengths[bucket] == ids[bucket].length) {
+                ids[bucket] = Arrays.copyOf(ids[bucket], Math.max(8, lengths[bucket] * 2));
+            }
+            ids[bucket][lengths[bucket]++] = employeeId;
+            size++;
+            return this;
+        }
+
+        ScoreIndex build() {
+            return EMPTY.plus(this);
+        }
+    }
+
+    private static int[][] emptyBuckets() {
+        int[][] buckets = new int[ScoreAggregate.BUCKETS][];
+        Arrays.fill(buckets, NO_ROWS);
+        return buckets;
+    }
+
+    // Both sorted and distinct
+    private static long[] union(long[] existing, long[] added) {
+        long[] union = new long[existing.length + added.length];
+        int i = 0;
+        int j = 0;
+        int length = 0;
+        while (i < existing.length || j < added.length) {
+            if (j == added.length || (i < existing.length && existing[i] < added[j])) {
+                union[length++] = existing[i++];
+            } else if (i == existing.length || added[j] < existing[i]) {
+                union[length++] = added[j++];
+            } else {
+                union[length++] = existing[i++];
+                j++;
+            }
+        }
+        return length == existing.length ? existing : Arrays.copyOf(union, length);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        int length = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[length++] = sorted[i];
+            }
+        }
+        return length == sorted.length ? sorted : Arrays.copyOf(sorted, length);
+    }
+}
@@ -0,0 +1,196 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ScoreHistogramDTO;
+import com.assignment.employeemanagement.dto.ScoreRangeDTO;
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
+import com.assignment.employeemanagement.exceptions.ServiceNotReadyException;
+import com.assignment.employeemanagement.repositories.PerformanceAggregateRepository;
+import com.assignment.employeemanagement.services.PendingReviews.PendingReview;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// In-memory score index per review date answering score range, top-k/bottom-k and histogram
+// queries without MySQL. Kept current the same way as PerformanceAggregateService: new reviews are
+// merged in by the scheduled refresh, other review changes rebuild the index from the database.
+@Service
+public class ScoreIndexService {
+    public static final double DEFAULT_BUCKET_WIDTH = 0.5;
+
+    @Autowired
+    private PerformanceAggregateRepository aggregateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${employees.aggregates.full-rebuild-interval-ms:3600000}")
+    private long fullRebuildIntervalMs;
+
+    private final PendingReviews pending = new PendingReviews();
+    private final RefreshingSnapshot<NavigableMap<LocalDate, ScoreIndex>> index = new RefreshingSnapshot<>(
+            "score index", rebuilt -> rebuilt.size() + " review dates");
+
+    public record EmployeeScore(long employeeId, double score) {
+    }
+
+    public boolean isReady() {
+        return index.get() != null;
+    }
+
+    // Latest review date in the index, or null when there are no reviews
+    public LocalDate latestReviewDate() {
+        NavigableMap<LocalDate, ScoreIndex> current = published();
+        return current.isEmpty() ? null : current.lastKey();
+    }
+
+    public ScoreRangeDTO getEmployeesInRange(LocalDate reviewDate, Double minScore, Double maxScore) {
+        NavigableMap<LocalDate, ScoreIndex> current = published();
+        LocalDate date = reviewDate != null ? reviewDate : latestKey(current);
+        double min = minScore != null ? minScore : 0.0;
+        double max = maxScore != null ? maxScore : 5.0;
+        if (min > max) {
+            throw new BadRequestException("minScore must not be greater than maxScore");
+        }
+
+        ScoreRangeDTO range = new ScoreRangeDTO();
+        range.setReviewDate(date);
+        range.setMinScore(min);
+        range.setMaxScore(max);
+        range.setEmployeeIds(indexFor(current, date).employeeIds(min, max));
+        range.setCount(range.getEmployeeIds().length);
+        return range;
+    }
+
+    public List<EmployeeScore> top(LocalDate reviewDate, int k) {
+        return collect(reviewDate, k, true);
+    }
+
+    public List<EmployeeScore> bottom(LocalDate reviewDate, int k) {
+        return collect(reviewDate, k, false);
+    }
+
+    // Walks one review date from the highest (or lowest) score until the visitor returns false
+    void walk(LocalDate reviewDate, boolean descending, ScoreIndex.Visitor visitor) {
+        indexFor(published(), reviewDate).walk(descending, visitor);
+    }
+
+    public ScoreHistogramDTO getHistogram(LocalDate reviewDate, Double bucketWidth) {
+        double width = bucketWidth != null ? bucketWidth : DEFAULT_BUCKET_WIDTH;
+        int widthInHundredths = (int) Math.round(width * 100);
+        if (widthInHundredths < 1 || widthInHundredths > 500 || Math.abs(widthInHundredths / 100.0 - width) > 1e-9) {
+            throw new BadRequestException("bucketWidth must be a multiple of 0.01 between 0.01 and 5");
+        }
+
+        NavigableMap<LocalDate, ScoreIndex> current = published();
+        LocalDate date = reviewDate != null ? reviewDate : latestKey(current);
+        ScoreIndex scores = indexFor(current, date);
+
+        ScoreHistogramDTO histogram = new ScoreHistogramDTO();
+        histogram.setReviewDate(date);
+        histogram.setBucketWidth(width);
+        histogram.setTotal(scores.size());
+        // 0.00..5.00 in fixed-width buckets; the last one also takes 5.00
+        int bucketCount = (500 + widthInHundredths - 1) / widthInHundredths;
+        for (int i = 0; i < bucketCount; i++) {
+            int from = i * widthInHundredths;
+            int to = i == bucketCount - 1 ? 500 : from + widthInHundredths - 1;
+            ScoreHistogramDTO.Bucket bucket = new ScoreHistogramDTO.Bucket();
+            bucket.setMinScore(from / 100.0);
+            bucket.setMaxScore(to / 100.0);
+            for (int score = from; score <= to; score++) {
+                bucket.setCount(bucket.getCount() + scores.bucketCount(score));
+            }
+            histogram.getBuckets().add(bucket);
+        }
+        return histogram;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDataChanged(EmployeeDataChangedEvent event) {
+        if (pending.offer(event)) {
+            return;
+        }
+        // Only review rows feed the index; deleting an employee deletes their reviews
+        Class<?> type = event.getEntityType();
+        if (PerformanceReview.class.equals(type)
+                || (Employee.class.equals(type) && event.getChangeType() == EmployeeDataChangedEvent.ChangeType.DELETED)) {
+            index.requestRebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.aggregates.refresh-interval-ms:1000}")
+    public void refresh() {
+        index.refresh(fullRebuildIntervalMs, this::rebuild,
+                current -> apply(current, pending.drain(index::requestRebuild)));
+    }
+
+    private NavigableMap<LocalDate, ScoreIndex> rebuild() {
+        pending.clear();
+        List<PendingReview> missed = new ArrayList<>();
+        Map<LocalDate, ScoreIndex.Builder> builders = RefreshingSnapshot.readConsistently(transactionManager, () -> {
+            Map<LocalDate, ScoreIndex.Builder> scanned = new HashMap<>();
+            aggregateRepository.forEachReviewScore((employeeId, reviewDate, score) ->
+                    scanned.computeIfAbsent(reviewDate, date -> ScoreIndex.builder()).add(employeeId, score));
+            missed.addAll(pending.drainInvisible(aggregateRepository));
+            return scanned;
+        });
+
+        NavigableMap<LocalDate, ScoreIndex> rebuilt = new TreeMap<>();
+        builders.forEach((reviewDate, builder) -> rebuilt.put(reviewDate, builder.build()));
+        return apply(rebuilt, missed);
+    }
+
+    // Copies the date map and the touched buckets; readers keep the old snapshot
+    private static NavigableMap<LocalDate, ScoreIndex> apply(NavigableMap<LocalDate, ScoreIndex> current,
+                                                             List<PendingReview> reviews) {
+        if (reviews.isEmpty()) {
+            return current;
+        }
+        Map<LocalDate, ScoreIndex.Builder> additions = new HashMap<>();
+        for (PendingReview review : reviews) {
+            additions.computeIfAbsent(review.reviewDate(), date -> ScoreIndex.builder())
+                    .add(review.employeeId(), review.score());
+        }
+        NavigableMap<LocalDate, ScoreIndex> updated = new TreeMap<>(current);
+        additions.forEach((reviewDate, builder) ->
+                updated.put(reviewDate, updated.getOrDefault(reviewDate, ScoreIndex.EMPTY).plus(builder)));
+        return updated;
+    }
+
+    private List<EmployeeScore> collect(LocalDate reviewDate, int k, boolean descending) {
+        if (k < 1) {
+            throw new BadRequestException("k must be at least 1");
+        }
+        List<EmployeeScore> scores = new ArrayList<>(Math.min(k, 1024));
+        walk(reviewDate, descending, (employeeId, score) -> {
+            scores.add(new EmployeeScore(employeeId, score));
+            return scores.size() < k;
+        });
+        return scores;
+    }
+
+    private NavigableMap<LocalDate, ScoreIndex> published() {
+        NavigableMap<LocalDate, ScoreIndex> current = index.get();
+        if (current == null) {
+            throw new ServiceNotReadyException("Score index is still being built");
+        }
+        return current;
+    }
+
+    private static LocalDate latestKey(NavigableMap<LocalDate, ScoreIndex> current) {
+        return current.isEmpty() ? null : current.lastKey();
+    }
+
+    private static ScoreIndex indexFor(NavigableMap<LocalDate, ScoreIndex> current, LocalDate reviewDate) {
+        return reviewDate == null ? ScoreIndex.EMPTY : current.getOrDefault(reviewDate, ScoreIndex.EMPTY);
+    }
+}
@@ -1,8 +1,5 @@
--- Database Schema for Employee Performance Management System
-
--- Create database if not exists
-CREATE DATABASE IF NOT EXISTS employee;
-USE employee;
+-- Baseline schema for the Employee Performance Management System.
+-- Databases created before Flyway took over the schema are baselined at this version.
 
 -- Department table
 CREATE TABLE IF NOT EXISTS department (
@@ -0,0 +1,21 @@
+-- Covering indexes for the employee filter and detail queries.
+-- InnoDB appends the primary key to every secondary index, so each index below also carries id.
+
+-- Project filter: resolve names first, then walk assignments from the project side
+CREATE INDEX idx_project_name ON project (name);
+CREATE INDEX idx_employee_project_project_employee ON employee_project (project_id, employee_id);
+
+-- Review filter driven per employee (EXISTS probe), latest-score window and top-3 detail reviews
+CREATE INDEX idx_review_employee_date_score ON performance_review (employee_id, review_date, score);
+
+-- Review filter driven by date, optionally narrowed by a score range
+CREATE INDEX idx_review_date_score_employee ON performance_review (review_date, score, employee_id);
+
+-- Score range without a review date
+CREATE INDEX idx_review_score_employee ON performance_review (score, employee_id);
+
+-- The composite indexes above lead with each of these columns, so the single-column ones only cost
+-- writes. idx_review_employee_date_score also serves the employee_id foreign key.
+DROP INDEX idx_employee_id ON performance_review;
+DROP INDEX idx_review_date ON performance_review;
+DROP INDEX idx_score ON performance_review;
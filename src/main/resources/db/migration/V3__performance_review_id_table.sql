@@ -0,0 +1,8 @@
+-- Id source for PerformanceReview (Hibernate's sequence emulation on MySQL). Ids are handed out in
+-- blocks, so both JPA inserts and bulk imports can be batched. Starts above any existing review.
+CREATE TABLE performance_review_seq (
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO performance_review_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM performance_review;
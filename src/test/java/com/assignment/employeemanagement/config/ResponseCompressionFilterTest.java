@@ -0,0 +1,169 @@
+package com.assignment.employeemanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressionFilterTest {
+    private static final byte[] LARGE_BODY = "{\"name\":\"Employee\",\"departmentName\":\"Engineering\"},"
+            .repeat(200).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SMALL_BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCompressionFilter();
+        ReflectionTestUtils.setField(filter, "encodings", List.of(ResponseEncoding.GZIP, ResponseEncoding.DEFLATE));
+        ReflectionTestUtils.setField(filter, "level", 6);
+        ReflectionTestUtils.setField(filter, "minResponseSize", 2048);
+        ReflectionTestUtils.setField(filter, "bufferSize", 8192);
+        ReflectionTestUtils.setField(filter, "mimeTypes", List.of(MediaType.APPLICATION_JSON));
+    }
+
+    private MockHttpServletResponse perform(String acceptEncoding, String contentType, byte[] body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // Written in two parts, with a flush in between, like a converter flushing its generator
+        FilterChain chain = (req, res) -> {
+            res.setContentType(contentType);
+            res.getOutputStream().write(body, 0, body.length / 2);
+            res.getOutputStream().flush();
+            res.getOutputStream().write(body, body.length / 2, body.length - body.length / 2);
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testDoFilter_CompressesLargeJsonWithPreferredEncoding() throws Exception {
+        MockHttpServletResponse response = perform("deflate, gzip", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertTrue(response.getContentAsByteArray().length < LARGE_BODY.length / 4);
+        assertArrayEquals(LARGE_BODY,
+                read(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void testDoFilter_SkipsEncodingsTheClientRefuses() throws Exception {
+        MockHttpServletResponse response = perform("gzip;q=0, *", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertEquals("deflate", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_BODY,
+                read(new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+        assertNull(perform("br", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testDoFilter_LeavesSmallAndNonMatchingBodiesUnchanged() throws Exception {
+        MockHttpServletResponse small = perform("gzip", MediaType.APPLICATION_JSON_VALUE, SMALL_BODY);
+        assertNull(small.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(SMALL_BODY, small.getContentAsByteArray());
+
+        MockHttpServletResponse csv = perform("gzip", "text/csv", LARGE_BODY);
+        assertNull(csv.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_BODY, csv.getContentAsByteArray());
+    }
+
+    @Test
+    void testDoFilter_KeepsDeclaredContentLengthOnlyForUncompressedBodies() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.setContentLength(LARGE_BODY.length);
+            res.getOutputStream().write(LARGE_BODY);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+
+        MockHttpServletResponse small = new MockHttpServletResponse();
+        filter.doFilter(request, small, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.setContentLength(SMALL_BODY.length);
+            res.getOutputStream().write(SMALL_BODY);
+        });
+        assertEquals(Integer.toString(SMALL_BODY.length), small.getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void testDoFilter_NonBlockingWritesBypassCompression() throws Exception {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        AtomicReference<WriteListener> registered = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            private final ServletOutputStream outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    written.write(b);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    registered.set(writeListener);
+                }
+            };
+
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return outputStream;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().setWriteListener(listener);
+            assertTrue(res.getOutputStream().isReady());
+            res.getOutputStream().write(LARGE_BODY);
+        });
+
+        assertSame(listener, registered.get());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_BODY, written.toByteArray());
+    }
+}
@@ -1,28 +1,51 @@
 package com.assignment.employeemanagement.controllers;
 
+import com.assignment.employeemanagement.config.SmileMessageConverter;
+import com.assignment.employeemanagement.dto.EmployeeBatchDTO;
 import com.assignment.employeemanagement.dto.EmployeeDetailDTO;
+import com.assignment.employeemanagement.dto.EmployeePageDTO;
+import com.assignment.employeemanagement.dto.EmployeeReportDTO;
 import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
-import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.dto.LegacyEmployeeDTO;
+import com.assignment.employeemanagement.dto.RankedEmployeeDTO;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
 import com.assignment.employeemanagement.services.EmployeeService;
+import com.assignment.employeemanagement.services.EmployeeVersions;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import(EmployeeVersions.class)
 class EmployeeControllerTest {
 
     @Autowired
@@ -31,20 +54,17 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeVersions employeeVersions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
-    private Employee testEmployee;
     private EmployeeResponseDTO testEmployeeResponse;
     private EmployeeDetailDTO testEmployeeDetail;
 
     @BeforeEach
     void setUp() {
-        testEmployee = new Employee();
-        testEmployee.setId(1L);
-        testEmployee.setName("John Doe");
-        testEmployee.setEmail("john.doe@example.com");
-
         testEmployeeResponse = new EmployeeResponseDTO();
         testEmployeeResponse.setId(1L);
         testEmployeeResponse.setName("John Doe");
@@ -59,7 +79,7 @@ class EmployeeControllerTest {
     @Test
     void testGetEmployeesWithFilters() throws Exception {
         List<EmployeeResponseDTO> employees = Arrays.asList(testEmployeeResponse);
-        when(employeeService.getEmployeesWithFilters(any())).thenReturn(employees);
+        when(employeeService.getEmployeesWithFilters(any())).thenReturn(new EmployeePageDTO(employees, null));
 
         mockMvc.perform(get("/api/employees")
                 .param("departments", "Engineering")
@@ -73,10 +93,40 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].name").value("John Doe"));
     }
 
+    @Test
+    void testGetEmployeesWithFiltersAsSmile() throws Exception {
+        List<EmployeeResponseDTO> employees = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            EmployeeResponseDTO employee = new EmployeeResponseDTO();
+            employee.setId(id);
+            employee.setName("Employee " + id);
+            employee.setDepartmentName("Engineering");
+            employee.setManagerName("Jane Manager");
+            employee.setDateOfJoining(LocalDate.of(2020, 1, 10));
+            employee.setProjectNames(List.of("Project Apollo"));
+            employees.add(employee);
+        }
+        when(employeeService.getEmployeesWithFilters(any())).thenReturn(new EmployeePageDTO(employees, null));
+
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(SmileMessageConverter.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SmileMessageConverter.SMILE))
+                .andReturn();
+
+        byte[] smile = result.getResponse().getContentAsByteArray();
+        JsonNode decoded = new ObjectMapper(new SmileFactory()).readTree(smile);
+        assertEquals(50, decoded.size());
+        assertEquals("Engineering", decoded.get(49).get("departmentName").asText());
+        assertEquals("Project Apollo", decoded.get(49).get("projectNames").get(0).asText());
+        assertEquals(2020, decoded.get(0).get("dateOfJoining").get(0).asInt());
+        // Repeated names are back-references, so the binary body is far smaller than the JSON one
+        assertTrue(smile.length * 2 < objectMapper.writeValueAsBytes(employees).length);
+    }
+
     @Test
     void testGetEmployeesWithFiltersNoParams() throws Exception {
         List<EmployeeResponseDTO> employees = Arrays.asList(testEmployeeResponse);
-        when(employeeService.getEmployeesWithFilters(any())).thenReturn(employees);
+        when(employeeService.getEmployeesWithFilters(any())).thenReturn(new EmployeePageDTO(employees, null));
 
         mockMvc.perform(get("/api/employees"))
                 .andExpect(status().isOk())
@@ -84,9 +134,74 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1));
     }
 
+    @Test
+    void testGetEmployeesWithFiltersReturnsNextCursorHeader() throws Exception {
+        List<EmployeeResponseDTO> employees = Arrays.asList(testEmployeeResponse);
+        when(employeeService.getEmployeesWithFilters(any())).thenReturn(new EmployeePageDTO(employees, "MQ"));
+
+        mockMvc.perform(get("/api/employees")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, "MQ"))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void testGetEmployeesWithFiltersLastPageHasNoCursorHeader() throws Exception {
+        List<EmployeeResponseDTO> employees = Arrays.asList(testEmployeeResponse);
+        when(employeeService.getEmployeesWithFilters(any())).thenReturn(new EmployeePageDTO(employees, null));
+
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EmployeeController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetEmployeesWithInvalidCursor() throws Exception {
+        when(employeeService.getEmployeesWithFilters(any())).thenThrow(new BadRequestException("Invalid cursor: x"));
+
+        mockMvc.perform(get("/api/employees")
+                .param("cursor", "x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetEmployeesWithInternalIllegalArgumentHidesMessage() throws Exception {
+        when(employeeService.getEmployeesWithFilters(any())).thenThrow(new IllegalArgumentException("internal detail"));
+
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
+    }
+
+    @Test
+    void testStreamEmployeesAsNdjson() throws Exception {
+        EmployeeResponseDTO second = new EmployeeResponseDTO();
+        second.setId(2L);
+        second.setName("Mary Major");
+        doAnswer(invocation -> {
+            Consumer<EmployeeResponseDTO> consumer = invocation.getArgument(1);
+            consumer.accept(testEmployeeResponse);
+            consumer.accept(second);
+            return null;
+        }).when(employeeService).streamEmployeesWithFilters(any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/employees")
+                .accept(EmployeeController.NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeController.NDJSON_VALUE))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"John Doe\",\"email\":\"john.doe@example.com\"}\n" +
+                        "{\"id\":2,\"name\":\"Mary Major\"}\n"));
+    }
+
     @Test
     void testGetEmployeeDetails() throws Exception {
-        when(employeeService.getEmployeeDetail(1L)).thenReturn(testEmployeeDetail);
+        when(employeeService.getEmployeeById(1L)).thenReturn(testEmployeeDetail);
 
         mockMvc.perform(get("/api/employees/1"))
                 .andExpect(status().isOk())
@@ -95,15 +210,139 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.name").value("John Doe"));
     }
 
+    @Test
+    void testGetEmployeeDetailsNotModifiedUntilEmployeeChanges() throws Exception {
+        when(employeeService.getEmployeeById(1L)).thenReturn(testEmployeeDetail);
+
+        String etag = mockMvc.perform(get("/api/employees/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""));
+
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(employeeService, times(1)).getEmployeeById(1L);
+
+        // A review for someone else leaves the tag alone, one for this employee moves it
+        employeeVersions.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                PerformanceReview.class, EmployeeDataChangedEvent.ChangeType.CREATED, 2L, null));
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        employeeVersions.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                PerformanceReview.class, EmployeeDataChangedEvent.ChangeType.CREATED, 1L, null));
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+        verify(employeeService, times(2)).getEmployeeById(1L);
+    }
+
+    @Test
+    void testGetEmployeesWithFiltersNotModifiedSkipsQuery() throws Exception {
+        when(employeeService.getEmployeesWithFilters(any()))
+                .thenReturn(new EmployeePageDTO(List.of(testEmployeeResponse), null));
+
+        String etag = mockMvc.perform(get("/api/employees").param("departments", "Sales", "Engineering"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Same filter in another order
+        mockMvc.perform(get("/api/employees").param("departments", "Engineering", "Sales")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // Another representation of the same page
+        mockMvc.perform(get("/api/employees").param("departments", "Engineering", "Sales")
+                        .accept(SmileMessageConverter.SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(employeeService, times(2)).getEmployeesWithFilters(any());
+    }
+
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        EmployeeBatchDTO batch = new EmployeeBatchDTO();
+        batch.setEmployees(List.of(testEmployeeDetail));
+        batch.setMissingIds(List.of(99L));
+        when(employeeService.getEmployeesByIds(List.of(1L, 99L))).thenReturn(batch);
+
+        mockMvc.perform(get("/api/employees/batch").param("ids", "1,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+    }
+
+    @Test
+    void testGetReports() throws Exception {
+        EmployeeReportDTO report = new EmployeeReportDTO();
+        report.setId(3L);
+        report.setName("Sam Report");
+        report.setManagerId(1L);
+        report.setDepth(1);
+        when(employeeService.getReports(eq(1L), eq(2), argThat(filter ->
+                filter.getDepartments().equals(List.of("Engineering")) && filter.getMinScore() == 4.0)))
+                .thenReturn(List.of(report));
+
+        mockMvc.perform(get("/api/employees/1/reports")
+                .param("maxDepth", "2")
+                .param("departments", "Engineering")
+                .param("minScore", "4.0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].managerId").value(1))
+                .andExpect(jsonPath("$[0].depth").value(1));
+    }
+
+    @Test
+    void testGetTopPerformers() throws Exception {
+        RankedEmployeeDTO ranked = new RankedEmployeeDTO();
+        ranked.setId(1L);
+        ranked.setName("John Doe");
+        ranked.setRank(1);
+        ranked.setRankedScore(4.9);
+        ranked.setReviewDate(LocalDate.of(2024, 1, 15));
+        when(employeeService.getRankedEmployees(argThat(filter ->
+                filter.getDepartments().equals(List.of("Engineering"))
+                        && LocalDate.of(2024, 1, 15).equals(filter.getReviewDate())), eq(50), eq(true)))
+                .thenReturn(List.of(ranked));
+
+        mockMvc.perform(get("/api/employees/top")
+                .param("n", "50")
+                .param("departments", "Engineering")
+                .param("reviewDate", "2024-01-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].rankedScore").value(4.9))
+                .andExpect(jsonPath("$[0].reviewDate").value("2024-01-15"));
+    }
+
     @Test
     void testGetEmployeesLegacy() throws Exception {
-        List<Employee> employees = Arrays.asList(testEmployee);
-        when(employeeService.getEmployees(any(), any())).thenReturn(employees);
+        LegacyEmployeeDTO legacy = new LegacyEmployeeDTO();
+        legacy.setId(1L);
+        legacy.setName("John Doe");
+        legacy.setEmail("john.doe@example.com");
+        legacy.setDateOfJoining(LocalDate.of(2020, 1, 10));
+        legacy.setSalary(90000.0);
+        legacy.setProjectNames(List.of("Project Apollo"));
+        doAnswer(invocation -> {
+            Consumer<LegacyEmployeeDTO> consumer = invocation.getArgument(2);
+            consumer.accept(legacy);
+            return null;
+        }).when(employeeService).streamLegacyEmployees(eq(List.of("Engineering")), eq(List.of("Project Apollo")), any());
 
-        mockMvc.perform(get("/api/employees/legacy")
+        MvcResult result = mockMvc.perform(get("/api/employees/legacy")
                 .param("departments", "Engineering")
                 .param("projects", "Project Apollo"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string("[{\"id\":1,\"name\":\"John Doe\",\"email\":\"john.doe@example.com\"," +
+                        "\"dateOfJoining\":\"2020-01-10\",\"salary\":90000.0,\"projectNames\":[\"Project Apollo\"]}]"));
     }
 }
@@ -0,0 +1,60 @@
+package com.assignment.employeemanagement.metrics;
+
+import com.assignment.employeemanagement.config.DataSourceProxyConfig;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcStatementListenerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(
+                Map.of("jdbcStatementListener", new JdbcStatementListener()));
+        DataSource proxied = (DataSource) DataSourceProxyConfig
+                .dataSourceProxy(beans.getBeanProvider(QueryExecutionListener.class))
+                .postProcessAfterInitialization(h2, "dataSource");
+        jdbcTemplate = new JdbcTemplate(proxied);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS review (id BIGINT PRIMARY KEY, score DECIMAL(3, 2))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE review");
+        RequestQueryStats.end();
+    }
+
+    @Test
+    void testJdbcTemplateStatements_CountedThroughTheProxiedDataSource() {
+        RequestQueryStats stats = RequestQueryStats.begin();
+
+        jdbcTemplate.batchUpdate("INSERT INTO review (id, score) VALUES (?, ?)",
+                List.of(new Object[]{1L, 4.5}, new Object[]{2L, 3.0}, new Object[]{3L, 2.5}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM review", Long.class);
+
+        // The batch of three inserts is one statement
+        assertEquals(2, stats.getStatements());
+        assertTrue(stats.getJdbcNanos() > 0);
+    }
+
+    @Test
+    void testJdbcTemplateStatements_OutsideARequestAreIgnored() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM review", Long.class);
+
+        assertNull(RequestQueryStats.current());
+    }
+}
@@ -0,0 +1,87 @@
+package com.assignment.employeemanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestQueryMetricsFilterTest {
+
+    private RequestQueryMetricsFilter filter;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RequestQueryMetricsFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry",
+                new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    private MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    // One statement through the listener, as the DataSource proxy reports it
+    private static void execute(JdbcStatementListener listener) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo("select 1"));
+        listener.beforeQuery(execInfo, queries);
+        listener.afterQuery(execInfo, queries);
+    }
+
+    @Test
+    void testDoFilter_RecordsStatementsExecutedDuringTheRequest() throws Exception {
+        JdbcStatementListener listener = new JdbcStatementListener();
+        FilterChain chain = (req, res) -> {
+            execute(listener);
+            execute(listener);
+        };
+
+        filter.doFilter(request("/api/employees/{id}"), new MockHttpServletResponse(), chain);
+
+        DistributionSummary statements = registry.get(RequestQueryMetricsFilter.STATEMENTS_METRIC)
+                .tags("uri", "/api/employees/{id}", "method", "GET", "status", "200")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(1, registry.get(RequestQueryMetricsFilter.TIME_METRIC).timer().count());
+        assertNull(RequestQueryStats.current());
+    }
+
+    @Test
+    void testDoFilter_EachRequestStartsFromZero() throws Exception {
+        JdbcStatementListener listener = new JdbcStatementListener();
+        FilterChain chain = (req, res) -> execute(listener);
+
+        filter.doFilter(request("/api/employees"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("/api/employees"), new MockHttpServletResponse(), chain);
+
+        DistributionSummary statements = registry.get(RequestQueryMetricsFilter.STATEMENTS_METRIC).summary();
+        assertEquals(2, statements.count());
+        assertEquals(1.0, statements.max());
+    }
+
+    @Test
+    void testAfterQuery_OutsideARequestIsIgnored() {
+        execute(new JdbcStatementListener());
+
+        assertNull(RequestQueryStats.current());
+    }
+}
@@ -0,0 +1,82 @@
+package com.assignment.employeemanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogListenerTest {
+
+    private SlowQueryLogListener listener;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        listener = new SlowQueryLogListener();
+        ReflectionTestUtils.setField(listener, "meterRegistry",
+                new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(listener, "threshold", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(listener, "sampleRate", 1.0);
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(elapsedMillis);
+        return execInfo;
+    }
+
+    private static QueryInfo query(String sql, List<List<ParameterSetOperation>> parameterSets) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().addAll(parameterSets);
+        return queryInfo;
+    }
+
+    private static ParameterSetOperation parameter(String setter, Class<?> type, int index, Object value)
+            throws NoSuchMethodException {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(setter, int.class, type),
+                new Object[]{index, value});
+    }
+
+    @Test
+    void testAfterQuery_CountsOnlyStatementsAboveTheThreshold() {
+        QueryInfo select = query("select * from employee", List.of());
+
+        listener.afterQuery(execution(199), List.of(select));
+        assertNull(registry.find(SlowQueryLogListener.SLOW_METRIC).counter());
+
+        listener.afterQuery(execution(200), List.of(select));
+        listener.afterQuery(execution(1500), List.of(select));
+        // Called from a test, so there is no service frame on the stack
+        assertEquals(2.0, registry.get(SlowQueryLogListener.SLOW_METRIC)
+                .tag("caller", SlowQueryLogListener.NO_CALLER).counter().count());
+    }
+
+    @Test
+    void testAfterQuery_DescribesStatementsWithTheirFirstParameterSet() throws Exception {
+        QueryInfo select = query("select * from employee where department_id = ? and manager_id = ?", List.of(
+                List.of(parameter("setLong", long.class, 1, 10L), parameter("setNull", int.class, 2, Types.BIGINT))));
+        QueryInfo insert = query("insert into performance_review (comments) values (?)", List.of(
+                List.of(parameter("setString", String.class, 1, "x".repeat(150))),
+                List.of(parameter("setString", String.class, 1, "second"))));
+
+        String description = SlowQueryLogListener.describe(List.of(select, insert));
+
+        assertEquals("select * from employee where department_id = ? and manager_id = ? [1=10, 2=null]; "
+                + "insert into performance_review (comments) values (?) [1=" + "x".repeat(100) + "...]"
+                + " (+1 more parameter sets)", description);
+    }
+}
@@ -0,0 +1,300 @@
+package com.assignment.employeemanagement.repositories;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.Employee;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the employee filter built by EmployeeSpecifications, and the list projection around it, against
+// embedded H2 (schema from the entity mappings) and checks which employees it returns and which
+// tables its SQL reads.
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.assignment.employeemanagement.repositories.EmployeeFilterQueryTest$RecordingStatementInspector"
+})
+class EmployeeFilterQueryTest {
+    private static final LocalDate LATEST_REVIEW = LocalDate.of(2024, 1, 15);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PerformanceReviewRepository reviewRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    // Employees: 1 John and 2 Jane in Engineering, 3 Bob in Marketing, 4 Alex without a department.
+    // Apollo: John, Jane. Zeus: Jane, Bob. Reviews: John 4.5 (latest date) and 3.0 (earlier date),
+    // Jane 3.8 (latest), Bob 2.5 (earlier), Alex 4.9 (latest).
+    @BeforeEach
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO department (id, name, budget) VALUES (1, 'Engineering', 1000000), "
+                + "(2, 'Marketing', 500000)");
+        jdbcTemplate.update("INSERT INTO project (id, name, start_date, department_id) VALUES "
+                + "(1, 'Project Apollo', '2024-01-01', 1), (2, 'Project Zeus', '2024-01-01', 2)");
+        jdbcTemplate.update("INSERT INTO employee (id, name, email, department_id, date_of_joining, salary, manager_id) "
+                + "VALUES (2, 'Jane Manager', 'jane@example.com', 1, '2019-01-01', 120000, NULL), "
+                + "(1, 'John Doe', 'john@example.com', 1, '2020-01-10', 90000, 2), "
+                + "(3, 'Bob Smith', 'bob@example.com', 2, '2021-03-01', 70000, 2), "
+                + "(4, 'Alex Kim', 'alex@example.com', NULL, '2022-05-01', 65000, NULL)");
+        jdbcTemplate.update("INSERT INTO employee_project (id, employee_id, project_id, assigned_date, role) VALUES "
+                + "(1, 1, 1, '2024-01-01', 'Lead Engineer'), (2, 2, 1, '2024-01-01', 'Manager'), "
+                + "(3, 2, 2, '2024-01-01', 'Advisor'), (4, 3, 2, '2024-01-01', 'Analyst')");
+        jdbcTemplate.update("INSERT INTO performance_review (id, employee_id, review_date, score) VALUES "
+                + "(1, 1, '2024-01-15', 4.5), (2, 1, '2023-07-15', 3.0), (3, 2, '2024-01-15', 3.8), "
+                + "(4, 3, '2023-07-15', 2.5), (5, 4, '2024-01-15', 4.9)");
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testFromFilter_DepartmentOnlyJoinsNoProjectOrReviewTables() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(List.of("Engineering"));
+
+        assertEquals(List.of(1L, 2L), ids(filterDTO));
+        String sql = RecordingStatementInspector.lastStatement();
+        assertFalse(sql.contains("employee_project"), sql);
+        assertFalse(sql.contains("performance_review"), sql);
+        assertEquals(1, occurrences(sql, "join department"), sql);
+    }
+
+    @Test
+    void testFromFilter_MinScoreWithoutReviewDateMatchesReviewsOfAnyDate() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setMinScore(4.0);
+
+        assertEquals(List.of(1L, 4L), ids(filterDTO));
+        assertTrue(RecordingStatementInspector.lastStatement().contains("performance_review"));
+    }
+
+    @Test
+    void testFromFilter_EmptyFilterListsEmployeesWithoutDepartment() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(new EmployeeFilterDTO()));
+        assertFalse(RecordingStatementInspector.lastStatement().contains("join department"));
+    }
+
+    @Test
+    void testFromFilter_WithAllCriteriaMatchesOneReviewOfAMember() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setReviewDate(LATEST_REVIEW);
+        filterDTO.setMinScore(4.0);
+        filterDTO.setMaxScore(5.0);
+
+        assertEquals(List.of(1L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithoutReviewCriteriaMatchesDepartmentAndProject() {
+        assertEquals(List.of(1L, 2L), ids(engineeringOnApollo()));
+    }
+
+    @Test
+    void testFromFilter_WithOnlyProjectsMatchesAnyAssignment() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setProjects(List.of("Project Zeus"));
+
+        assertEquals(List.of(2L, 3L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithOnlyReviewDate() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setReviewDate(LATEST_REVIEW);
+
+        assertEquals(List.of(1L, 2L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithOnlyMinScore() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setMinScore(4.0);
+
+        assertEquals(List.of(1L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithOnlyMaxScore() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setMaxScore(3.5);
+
+        // John's earlier 3.0 qualifies although his latest review is 4.5
+        assertEquals(List.of(1L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithReviewDateAndMinScoreOnly() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setReviewDate(LATEST_REVIEW);
+        filterDTO.setMinScore(4.0);
+
+        assertEquals(List.of(1L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithReviewDateAndMaxScoreOnly() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setReviewDate(LATEST_REVIEW);
+        filterDTO.setMaxScore(4.0);
+
+        // John's 3.0 is from another date, so only Jane's 3.8 qualifies
+        assertEquals(List.of(2L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithMinScoreAndMaxScoreOnly() {
+        EmployeeFilterDTO filterDTO = engineeringOnApollo();
+        filterDTO.setMinScore(3.5);
+        filterDTO.setMaxScore(4.0);
+
+        // John has reviews above and below the range but none inside it
+        assertEquals(List.of(2L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithExactScore() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setScore(3.8);
+
+        assertEquals(List.of(2L), ids(filterDTO));
+    }
+
+    @Test
+    void testFromFilter_WithNullValuesOrEmptyLists() {
+        EmployeeFilterDTO nullValues = new EmployeeFilterDTO();
+        nullValues.setDepartments(null);
+        nullValues.setProjects(null);
+        nullValues.setReviewDate(null);
+        nullValues.setMinScore(null);
+        nullValues.setMaxScore(null);
+        EmployeeFilterDTO emptyLists = new EmployeeFilterDTO();
+        emptyLists.setDepartments(List.of());
+        emptyLists.setProjects(List.of());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(nullValues));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(emptyLists));
+    }
+
+    @Test
+    void testFromFilter_UnknownDepartmentMatchesNobody() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(List.of("Sales"));
+
+        assertTrue(ids(filterDTO).isEmpty());
+    }
+
+    @Test
+    void testFindResponseRows_DepartmentFilterReusesTheProjectionJoin() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(List.of("Engineering"));
+
+        List<EmployeeResponseDTO> rows = employeeRepository.findResponseRows(EmployeeSpecifications.fromFilter(filterDTO));
+
+        assertEquals(List.of(1L, 2L), rows.stream().map(EmployeeResponseDTO::getId).toList());
+        String sql = RecordingStatementInspector.lastStatement();
+        assertEquals(1, occurrences(sql, "join department"), sql);
+        assertFalse(sql.contains("employee_project"), sql);
+    }
+
+    @Test
+    void testFindResponseRows_EmployeeWithNullDepartmentAndManager() {
+        List<EmployeeResponseDTO> rows = employeeRepository.findResponseRows(
+                EmployeeSpecifications.fromFilter(new EmployeeFilterDTO()));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), rows.stream().map(EmployeeResponseDTO::getId).toList());
+        assertEquals("Engineering", rows.get(0).getDepartmentName());
+        assertEquals("Jane Manager", rows.get(0).getManagerName());
+        assertNull(rows.get(3).getDepartmentName());
+        assertNull(rows.get(3).getManagerName());
+    }
+
+    @Test
+    void testFindLatestScores_NewestReviewPerEmployeeWithDateTiesBrokenById() {
+        // A second review of Bob on the same date; the higher id wins
+        jdbcTemplate.update("INSERT INTO performance_review (id, employee_id, review_date, score) "
+                + "VALUES (6, 3, '2023-07-15', 3.5)");
+        jdbcTemplate.update("INSERT INTO employee (id, name, email, department_id, date_of_joining, salary) "
+                + "VALUES (5, 'New Hire', 'new@example.com', 1, '2024-02-01', 60000)");
+
+        LatestScores scores = reviewRepository.findLatestScores(List.of(1L, 2L, 3L, 4L, 5L));
+
+        assertEquals(4, scores.size());
+        assertEquals(4.5, scores.scoreOf(1L));
+        assertEquals(3.8, scores.scoreOf(2L));
+        assertEquals(3.5, scores.scoreOf(3L));
+        assertEquals(4.9, scores.scoreOf(4L));
+        assertFalse(scores.contains(5L));
+    }
+
+    @Test
+    void testFindLast3ReviewRows_NewestFirstWithDateTiesBrokenById() {
+        // Four reviews of John, two of them on the same date; the lower id of the tie is the one dropped
+        jdbcTemplate.update("INSERT INTO performance_review (id, employee_id, review_date, score) VALUES "
+                + "(6, 1, '2024-07-15', 4.0), (7, 1, '2023-07-15', 3.2)");
+
+        List<Object[]> rows = reviewRepository.findLast3ReviewRows(List.of(1L, 2L, 5L));
+
+        assertEquals(List.of("1:6", "1:1", "1:7", "2:3"),
+                rows.stream().map(row -> row[0] + ":" + row[1]).toList());
+    }
+
+    @Test
+    void testFindProjectNamesByEmployeeIds_OnlyAssignedProjectsInOrder() {
+        List<Object[]> rows = employeeRepository.findProjectNamesByEmployeeIds(List.of(2L, 3L, 4L));
+
+        assertEquals(List.of("2:Project Apollo", "2:Project Zeus", "3:Project Zeus"),
+                rows.stream().map(row -> row[0] + ":" + row[1]).toList());
+    }
+
+    private List<Long> ids(EmployeeFilterDTO filterDTO) {
+        return employeeRepository.findAll(EmployeeSpecifications.fromFilter(filterDTO), Sort.by("id")).stream()
+                .map(Employee::getId)
+                .toList();
+    }
+
+    private static EmployeeFilterDTO engineeringOnApollo() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(List.of("Engineering"));
+        filterDTO.setProjects(List.of("Project Apollo"));
+        return filterDTO;
+    }
+
+    private static int occurrences(String sql, String fragment) {
+        return sql.split(fragment, -1).length - 1;
+    }
+
+    // Hibernate instantiates this from the property above, so the statements go to a static list
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        static String lastStatement() {
+            return STATEMENTS.get(STATEMENTS.size() - 1).toLowerCase().replaceAll("\\s+", " ");
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.assignment.employeemanagement.repositories;
+
+import com.assignment.employeemanagement.config.DataSourceProxyConfig;
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the Flyway migrations against MySQL, runs each repository query shape, and checks EXPLAIN for
+// the SQL it actually sent: the statement and bind values are captured on the DataSource proxy, so
+// Hibernate's generated SQL and the native queries are checked as they are. Every listed table alias
+// (Hibernate's e1_0 matches "e") must be read through one of the indexes built for that access path,
+// never by a full scan. Skipped when Docker is unavailable.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FilterIndexUsageTest {
+    private static final int EMPLOYEES = 10_000;
+    private static final int PROJECTS = 300;
+    private static final int REVIEWS_PER_EMPLOYEE = 8;
+    private static final LocalDate LATEST_REVIEW = LocalDate.of(2025, 1, 1);
+    private static final LocalDate REVIEW_DATE = LocalDate.of(2024, 7, 1);
+    private static final List<Long> EMPLOYEE_IDS = List.of(11L, 12L, 13L, 14L, 15L);
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("employee")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @TestConfiguration
+    @Import(DataSourceProxyConfig.class)
+    static class StatementCapture {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RecordingListener recordingListener;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PerformanceReviewRepository reviewRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    // Employees 11 and up report to employee id / 10, so employee 1 heads a four-level subtree
+    @BeforeAll
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        Random random = new Random(7);
+
+        List<Object[]> departments = new ArrayList<>();
+        for (int d = 1; d <= 20; d++) {
+            departments.add(new Object[]{d, "Department " + d, 100_000});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO department (id, name, budget) VALUES (?, ?, ?)", departments);
+
+        List<Object[]> projects = new ArrayList<>();
+        for (int p = 1; p <= PROJECTS; p++) {
+            projects.add(new Object[]{p, "Project " + p, LATEST_REVIEW.minusYears(1), 1 + p % 20});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO project (id, name, start_date, department_id) VALUES (?, ?, ?, ?)", projects);
+
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> assignments = new ArrayList<>();
+        List<Object[]> reviews = new ArrayList<>();
+        for (int e = 1; e <= EMPLOYEES; e++) {
+            employees.add(new Object[]{e, "Employee " + e, "employee" + e + "@company.com",
+                    1 + random.nextInt(20), LATEST_REVIEW.minusDays(random.nextInt(3000)), 50_000,
+                    e > 10 ? e / 10 : null});
+            Set<Integer> assigned = new HashSet<>();
+            while (assigned.size() < 3) {
+                assigned.add(1 + random.nextInt(PROJECTS));
+            }
+            for (int project : assigned) {
+                assignments.add(new Object[]{e, project, LATEST_REVIEW, "Developer"});
+            }
+            for (int r = 0; r < REVIEWS_PER_EMPLOYEE; r++) {
+                reviews.add(new Object[]{e, LATEST_REVIEW.minusMonths(3L * r), 1 + random.nextInt(400) / 100.0});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employee " +
+                "(id, name, email, department_id, date_of_joining, salary, manager_id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                employees);
+        jdbcTemplate.batchUpdate("INSERT INTO employee_project " +
+                "(employee_id, project_id, assigned_date, role) VALUES (?, ?, ?, ?)", assignments);
+        jdbcTemplate.batchUpdate("INSERT INTO performance_review " +
+                "(employee_id, review_date, score) VALUES (?, ?, ?)", reviews);
+        jdbcTemplate.execute("ANALYZE TABLE department, project, employee, employee_project, performance_review");
+    }
+
+    private static EmployeeFilterDTO filter(List<String> departments, List<String> projects) {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(departments);
+        filterDTO.setProjects(projects);
+        return filterDTO;
+    }
+
+    private static EmployeeFilterDTO reviewFilter(LocalDate reviewDate, Double minScore, Double maxScore) {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setReviewDate(reviewDate);
+        filterDTO.setMinScore(minScore);
+        filterDTO.setMaxScore(maxScore);
+        return filterDTO;
+    }
+
+    private void listPage(EmployeeFilterDTO filterDTO) {
+        employeeRepository.findResponsePage(EmployeeSpecifications.fromFilter(filterDTO), null, 501);
+    }
+
+    // Shape name, the repository call that runs it, and acceptable indexes per table alias
+    Stream<Arguments> queryShapes() {
+        Set<String> reviewByDate = Set.of("idx_review_date_score_employee", "idx_review_employee_date_score");
+        Set<String> reviewByEmployee = Set.of("idx_review_employee_date_score");
+        Set<String> departmentByName = Set.of("name", "PRIMARY");
+        Set<String> projectByName = Set.of("idx_project_name", "PRIMARY");
+        Set<String> assignments = Set.of("idx_employee_project_project_employee", "unique_employee_project");
+        return Stream.of(
+                Arguments.of("department", (Runnable) () -> listPage(filter(List.of("Department 3"), null)),
+                        Map.of("d", departmentByName)),
+                Arguments.of("project", (Runnable) () -> listPage(filter(null, List.of("Project 42"))),
+                        Map.of("p", projectByName, "ep", assignments)),
+                Arguments.of("reviewDate+scoreRange", (Runnable) () -> listPage(reviewFilter(REVIEW_DATE, 3.5, 4.0)),
+                        Map.of("pr", reviewByDate)),
+                Arguments.of("reviewDate", (Runnable) () -> listPage(reviewFilter(REVIEW_DATE, null, null)),
+                        Map.of("pr", reviewByDate)),
+                Arguments.of("minScore", (Runnable) () -> listPage(reviewFilter(null, 4.8, null)),
+                        Map.of("pr", Set.of("idx_review_score_employee", "idx_review_employee_date_score"))),
+                Arguments.of("detail", (Runnable) () -> employeeRepository.findWithDepartmentAndManagerById(42L),
+                        Map.of("e", Set.of("PRIMARY"), "d", Set.of("PRIMARY"), "m", Set.of("PRIMARY"))),
+                Arguments.of("projectNamesByEmployeeIds",
+                        (Runnable) () -> employeeRepository.findProjectNamesByEmployeeIds(EMPLOYEE_IDS),
+                        Map.of("ep", Set.of("unique_employee_project"), "p", Set.of("PRIMARY"))),
+                Arguments.of("latestScores", (Runnable) () -> reviewRepository.findLatestScoreRows(EMPLOYEE_IDS),
+                        Map.of("pr", reviewByEmployee)),
+                Arguments.of("last3Reviews", (Runnable) () -> reviewRepository.findLast3ReviewRows(List.of(42L)),
+                        Map.of("pr", reviewByEmployee)),
+                Arguments.of("last3ReviewsBatch", (Runnable) () -> reviewRepository.findLast3ReviewRows(EMPLOYEE_IDS),
+                        Map.of("pr", reviewByEmployee)),
+                Arguments.of("rankedScores",
+                        (Runnable) () -> employeeRepository.findRankedScoreRows(filter(null, null), REVIEW_DATE, 10, true),
+                        Map.of("pr", reviewByDate)),
+                Arguments.of("rankedScores+department+project",
+                        (Runnable) () -> employeeRepository.findRankedScoreRows(
+                                filter(List.of("Department 3"), List.of("Project 42")), REVIEW_DATE, 10, false),
+                        Map.of("pr", reviewByDate, "e", Set.of("PRIMARY", "idx_department_id"),
+                                "d", departmentByName, "p", projectByName, "ep", assignments)),
+                Arguments.of("latestRankedScores+department",
+                        (Runnable) () -> employeeRepository.findLatestRankedScoreRows(
+                                filter(List.of("Department 3"), null), 10, true),
+                        Map.of("pr", reviewByEmployee, "e", Set.of("PRIMARY", "idx_department_id"),
+                                "d", departmentByName)),
+                Arguments.of("subtree",
+                        (Runnable) () -> employeeRepository.findSubtreeRows(1L, 100, filter(null, null)),
+                        Map.of("e", Set.of("idx_manager_id", "PRIMARY"), "d", Set.of("PRIMARY"), "m", Set.of("PRIMARY"))),
+                Arguments.of("subtree+reviewDate",
+                        (Runnable) () -> employeeRepository.findSubtreeRows(1L, 100, reviewFilter(REVIEW_DATE, 3.5, null)),
+                        Map.of("e", Set.of("idx_manager_id", "PRIMARY"), "pr", reviewByDate)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryShapes")
+    void testQueryShape_UsesItsIndexes(String shape, Runnable query, Map<String, Set<String>> expectedIndexes) {
+        recordingListener.statements.clear();
+        query.run();
+        List<CapturedStatement> selects = recordingListener.statements.stream()
+                .filter(CapturedStatement::isQuery)
+                .toList();
+        assertEquals(1, selects.size(), shape + ": expected one query, ran " + selects);
+
+        CapturedStatement statement = selects.get(0);
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters());
+
+        expectedIndexes.forEach((alias, indexes) -> {
+            Pattern aliasPattern = Pattern.compile(Pattern.quote(alias) + "(\\d+_\\d+)?");
+            List<Map<String, Object>> steps = plan.stream()
+                    .filter(step -> aliasPattern.matcher(String.valueOf(step.get("table"))).matches())
+                    .toList();
+            assertFalse(steps.isEmpty(), shape + ": no plan step for " + alias + " in " + plan + " of " + statement.sql());
+            for (Map<String, Object> step : steps) {
+                assertNotEquals("ALL", step.get("type"), shape + ": full scan of " + alias + " in " + plan);
+                assertTrue(indexes.contains(String.valueOf(step.get("key"))),
+                        shape + ": " + alias + " used " + step.get("key") + ", expected one of " + indexes);
+            }
+        });
+    }
+
+    // The SQL as sent, with the values of its first parameter set in index order
+    record CapturedStatement(String sql, Object[] parameters) {
+        private static final Pattern LEADING_COMMENT = Pattern.compile("^\\s*(/\\*.*?\\*/\\s*)*", Pattern.DOTALL);
+
+        boolean isQuery() {
+            String statement = LEADING_COMMENT.matcher(sql).replaceFirst("").toLowerCase();
+            return statement.startsWith("select") || statement.startsWith("with");
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    static class RecordingListener implements QueryExecutionListener {
+        final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+                Object[] parameters = parameterSets.isEmpty() ? new Object[0] : parameterSets.get(0).stream()
+                        .filter(operation -> operation.getArgs().length >= 2)
+                        .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                        .map(operation -> "setNull".equals(operation.getMethod().getName()) ? null : operation.getArgs()[1])
+                        .toArray();
+                statements.add(new CapturedStatement(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.config.CacheConfig;
+import com.assignment.employeemanagement.entities.*;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheInvalidatorTest {
+
+    private EmployeeCacheInvalidator invalidator;
+    private Cache details;
+    private Cache filterResults;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+                CacheConfig.EMPLOYEE_DETAILS_CACHE, CacheConfig.EMPLOYEE_FILTER_RESULTS_CACHE);
+        invalidator = new EmployeeCacheInvalidator();
+        ReflectionTestUtils.setField(invalidator, "cacheManager", cacheManager);
+
+        details = cacheManager.getCache(CacheConfig.EMPLOYEE_DETAILS_CACHE);
+        details.put(1L, "employee 1");
+        details.put(2L, "employee 2");
+
+        filterResults = cacheManager.getCache(CacheConfig.EMPLOYEE_FILTER_RESULTS_CACHE);
+        filterResults.put("all employees", "page");
+    }
+
+    private EmployeeDataChangedEvent event(Class<?> type, ChangeType changeType, Long employeeId) {
+        return new EmployeeDataChangedEvent(type, changeType, employeeId, null);
+    }
+
+    @Test
+    void testReviewChangeEvictsOnlyThatEmployee() {
+        invalidator.onEmployeeDataChanged(event(PerformanceReview.class, ChangeType.CREATED, 1L));
+
+        assertNull(details.get(1L));
+        assertNotNull(details.get(2L));
+    }
+
+    @Test
+    void testProjectAssignmentChangeEvictsOnlyThatEmployee() {
+        invalidator.onEmployeeDataChanged(event(EmployeeProject.class, ChangeType.DELETED, 2L));
+
+        assertNotNull(details.get(1L));
+        assertNull(details.get(2L));
+    }
+
+    @Test
+    void testEmployeeUpdateClearsAllEntries() {
+        invalidator.onEmployeeDataChanged(event(Employee.class, ChangeType.UPDATED, 2L));
+
+        assertNull(details.get(1L));
+        assertNull(details.get(2L));
+    }
+
+    @Test
+    void testNewEmployeeKeepsEntries() {
+        invalidator.onEmployeeDataChanged(event(Employee.class, ChangeType.CREATED, 3L));
+
+        assertNotNull(details.get(1L));
+        assertNotNull(details.get(2L));
+    }
+
+    @Test
+    void testEveryEntityTypeClearsFilterResults() {
+        Class<?>[] types = {Employee.class, PerformanceReview.class, EmployeeProject.class,
+                Department.class, Project.class};
+        for (Class<?> type : types) {
+            filterResults.put("all employees", "page");
+
+            invalidator.onEmployeeDataChanged(event(type, ChangeType.CREATED, 1L));
+
+            assertNull(filterResults.get("all employees"), type.getSimpleName());
+        }
+    }
+
+    @Test
+    void testFilterResultsChangedClearsOnlyFilterResults() {
+        invalidator.filterResultsChanged();
+
+        assertNull(filterResults.get("all employees"));
+        assertNotNull(details.get(1L));
+    }
+
+    @Test
+    void testDepartmentChangeClearsAllEntries() {
+        invalidator.onEmployeeDataChanged(event(Department.class, ChangeType.UPDATED, null));
+
+        assertNull(details.get(1L));
+        assertNull(details.get(2L));
+    }
+}
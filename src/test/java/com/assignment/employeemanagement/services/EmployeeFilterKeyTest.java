@@ -0,0 +1,54 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFilterKeyTest {
+
+    private EmployeeFilterDTO filter(String... departments) {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(Arrays.asList(departments));
+        filterDTO.setProjects(Arrays.asList("Project Apollo"));
+        filterDTO.setReviewDate(LocalDate.of(2024, 1, 15));
+        filterDTO.setMinScore(4.0);
+        return filterDTO;
+    }
+
+    @Test
+    void testListOrderAndDuplicatesDoNotChangeKey() {
+        EmployeeFilterKey first = EmployeeFilterKey.of(filter("Sales", "Engineering"));
+        EmployeeFilterKey second = EmployeeFilterKey.of(filter("Engineering", "Sales", "Engineering"));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(Arrays.asList("Engineering", "Sales"), first.getDepartments());
+    }
+
+    @Test
+    void testEmptyListEqualsNoFilter() {
+        EmployeeFilterDTO empty = new EmployeeFilterDTO();
+        empty.setDepartments(Collections.emptyList());
+        empty.setCursor("");
+
+        assertEquals(EmployeeFilterKey.of(new EmployeeFilterDTO()), EmployeeFilterKey.of(empty));
+    }
+
+    @Test
+    void testDifferentCriteriaProduceDifferentKeys() {
+        EmployeeFilterDTO other = filter("Engineering");
+        other.setMinScore(3.0);
+
+        assertNotEquals(EmployeeFilterKey.of(filter("Engineering")), EmployeeFilterKey.of(other));
+
+        EmployeeFilterDTO nextPage = filter("Engineering");
+        nextPage.setCursor(PageCursor.encode(42L));
+
+        assertNotEquals(EmployeeFilterKey.of(filter("Engineering")), EmployeeFilterKey.of(nextPage));
+    }
+}
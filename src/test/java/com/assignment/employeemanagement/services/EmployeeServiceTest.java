@@ -1,9 +1,16 @@
 package com.assignment.employeemanagement.services;
 
+import com.assignment.employeemanagement.dto.EmployeeBatchDTO;
 import com.assignment.employeemanagement.dto.EmployeeDetailDTO;
 import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeePageDTO;
+import com.assignment.employeemanagement.dto.EmployeeReportDTO;
 import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.dto.LegacyEmployeeDTO;
+import com.assignment.employeemanagement.dto.RankedEmployeeDTO;
 import com.assignment.employeemanagement.entities.*;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
+import com.assignment.employeemanagement.exceptions.DataLoadTimeoutException;
 import com.assignment.employeemanagement.exceptions.ResourceNotFoundException;
 import com.assignment.employeemanagement.repositories.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,15 +19,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +57,15 @@ class EmployeeServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ScoreIndexService scoreIndexService;
+
+    @Mock
+    private EmployeeSnapshotService employeeSnapshotService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -95,6 +123,48 @@ class EmployeeServiceTest {
 
         testEmployee.setEmployeeProjects(Arrays.asList(testEmployeeProject));
         testEmployee.setPerformanceReviews(Arrays.asList(testReview));
+
+        ReflectionTestUtils.setField(employeeService, "defaultPageLimit", 500);
+        ReflectionTestUtils.setField(employeeService, "maxPageLimit", 5000);
+        ReflectionTestUtils.setField(employeeService, "streamFetchSize", 1000);
+        ReflectionTestUtils.setField(employeeService, "maxReportDepth", 100);
+        ReflectionTestUtils.setField(employeeService, "defaultRankingLimit", 10);
+        ReflectionTestUtils.setField(employeeService, "maxRankingLimit", 1000);
+        ReflectionTestUtils.setField(employeeService, "maxBatchIds", 200);
+        ReflectionTestUtils.setField(employeeService, "detailExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(employeeService, "detailPartTimeout", Duration.ofSeconds(2));
+    }
+
+    private EmployeeResponseDTO responseRow(Long id, String name, String departmentName, String managerName) {
+        EmployeeResponseDTO row = new EmployeeResponseDTO();
+        row.setId(id);
+        row.setName(name);
+        row.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        row.setDateOfJoining(LocalDate.of(2020, 1, 10));
+        row.setSalary(90000.0);
+        row.setDepartmentName(departmentName);
+        row.setManagerName(managerName);
+        return row;
+    }
+
+    private void givenResponseRows(EmployeeResponseDTO... rows) {
+        when(employeeRepository.findResponsePage(any(Specification.class), any(), anyInt()))
+                .thenReturn(new ArrayList<>(Arrays.asList(rows)));
+    }
+
+    // Like the real queries, each call returns only the rows of the employee ids it was given
+    private void givenProjectRows(Object[]... rows) {
+        when(employeeRepository.findProjectNamesByEmployeeIds(anyCollection()))
+                .thenAnswer(invocation -> rowsFor(invocation.getArgument(0), rows));
+    }
+
+    private void givenScoreRows(Object[]... rows) {
+        when(reviewRepository.findLatestScores(anyCollection()))
+                .thenAnswer(invocation -> LatestScores.fromRows(rowsFor(invocation.getArgument(0), rows)));
+    }
+
+    private static List<Object[]> rowsFor(Collection<?> employeeIds, Object[]... rows) {
+        return Arrays.stream(rows).filter(row -> employeeIds.contains(row[0])).toList();
     }
 
     @Test
@@ -106,15 +176,11 @@ class EmployeeServiceTest {
         filterDTO.setMinScore(4.0);
         filterDTO.setMaxScore(5.0);
 
-        when(employeeRepository.findAllWithAllFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo")),
-                eq(LocalDate.of(2024, 1, 15)),
-                eq(4.0),
-                eq(5.0)
-        )).thenReturn(Arrays.asList(testEmployee));
+        givenResponseRows(responseRow(1L, "John Doe", "Engineering", "Jane Manager"));
+        givenProjectRows(new Object[]{1L, "Project Apollo"});
+        givenScoreRows(new Object[]{1L, 4.5});
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO).getEmployees();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -131,289 +197,281 @@ class EmployeeServiceTest {
         filterDTO.setDepartments(Arrays.asList("Engineering"));
         filterDTO.setProjects(Arrays.asList("Project Apollo"));
 
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
+        givenResponseRows(responseRow(1L, "John Doe", "Engineering", "Jane Manager"));
+        givenProjectRows(new Object[]{1L, "Project Apollo"});
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO).getEmployees();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("John Doe", result.get(0).getName());
+        assertNull(result.get(0).getLastPerformanceScore());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithPartialPerformanceScore() {
+    void testGetEmployeesWithFilters_EmptyResult() {
         EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
         filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setReviewDate(LocalDate.of(2024, 1, 15));
-        // Missing minScore and maxScore
 
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
+        givenResponseRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO).getEmployees();
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertTrue(result.isEmpty());
+        verify(employeeRepository, never()).findProjectNamesByEmployeeIds(anyCollection());
+        verify(reviewRepository, never()).findLatestScores(anyCollection());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithNullValues() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(null);
-        filterDTO.setProjects(null);
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
+    void testGetEmployeesWithFilters_AllFiltersNull() {
+        givenResponseRows(responseRow(1L, "John Doe", "Engineering", "Jane Manager"));
+        givenProjectRows();
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO()).getEmployees();
 
         assertNotNull(result);
         assertEquals(1, result.size());
     }
 
     @Test
-    void testGetEmployeesWithFilters_EmptyResult() {
+    void testGetEmployeesWithFilters_WithEmptyLists() {
         EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
+        filterDTO.setDepartments(Collections.emptyList());
+        filterDTO.setProjects(Collections.emptyList());
 
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(null)
-        )).thenReturn(Collections.emptyList());
+        givenResponseRows(responseRow(1L, "John Doe", "Engineering", "Jane Manager"));
+        givenProjectRows();
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO).getEmployees();
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertEquals(1, result.size());
     }
 
     @Test
-    void testGetEmployeesWithFilters_AllFiltersNull() {
+    void testGetEmployeesWithFilters_WithMinScoreAndMaxScoreOnly() {
         EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setMinScore(4.0);
+        filterDTO.setMaxScore(5.0);
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
+        givenResponseRows(responseRow(1L, "John Doe", "Engineering", "Jane Manager"));
+        givenProjectRows();
+        givenScoreRows(new Object[]{1L, 4.5});
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO).getEmployees();
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(4.5, result.get(0).getLastPerformanceScore());
     }
 
     @Test
-    void testGetEmployeeDetail_Success() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(reviewRepository.findTop3ByEmployeeIdOrderByReviewDateDesc(1L))
-                .thenReturn(Arrays.asList(testReview));
+    void testGetEmployeesWithFilters_ProjectsAndScoresMatchedById() {
+        givenResponseRows(
+                responseRow(1L, "John Doe", "Engineering", "Jane Manager"),
+                responseRow(3L, "Mary Major", "Sales", null)
+        );
+        givenProjectRows(
+                new Object[]{3L, "Sales Expansion"},
+                new Object[]{1L, "Project Apollo"},
+                new Object[]{3L, "Project Apollo"}
+        );
+        givenScoreRows(new Object[]{3L, 3.9}, new Object[]{1L, 4.5});
 
-        EmployeeDetailDTO result = employeeService.getEmployeeDetail(1L);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO()).getEmployees();
 
-        assertNotNull(result);
-        assertEquals("John Doe", result.getName());
-        assertEquals("john.doe@example.com", result.getEmail());
-        assertEquals("Engineering", result.getDepartmentName());
-        assertEquals(1, result.getLast3Reviews().size());
-        assertEquals(Arrays.asList("Project Apollo"), result.getProjects());
+        assertEquals(2, result.size());
+        assertEquals(Arrays.asList("Project Apollo"), result.get(0).getProjectNames());
+        assertEquals(4.5, result.get(0).getLastPerformanceScore());
+        assertEquals(Arrays.asList("Sales Expansion", "Project Apollo"), result.get(1).getProjectNames());
+        assertEquals(3.9, result.get(1).getLastPerformanceScore());
+        assertNull(result.get(1).getManagerName());
     }
 
     @Test
-    void testGetEmployeeDetail_EmployeeNotFound() {
-        when(employeeRepository.findById(999L)).thenReturn(Optional.empty());
+    void testGetEmployeesWithFilters_DuplicateProjectNamesCollapsed() {
+        givenResponseRows(responseRow(1L, "John Doe", "Engineering", "Jane Manager"));
+        givenProjectRows(new Object[]{1L, "Project Apollo"}, new Object[]{1L, "Project Apollo"});
+        givenScoreRows();
 
-        assertThrows(ResourceNotFoundException.class, () -> {
-            employeeService.getEmployeeDetail(999L);
-        });
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO()).getEmployees();
+
+        assertEquals(Arrays.asList("Project Apollo"), result.get(0).getProjectNames());
     }
 
     @Test
-    void testGetEmployees() {
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
+    void testGetEmployeesWithFilters_LargeResultLoadedInBatches() {
+        EmployeeResponseDTO[] rows = new EmployeeResponseDTO[2500];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = responseRow((long) i + 1, "Employee " + i, "Engineering", null);
+        }
+        givenResponseRows(rows);
+        givenProjectRows();
+        givenScoreRows();
 
-        List<Employee> result = employeeService.getEmployees(
-                Arrays.asList("Engineering"),
-                Arrays.asList("Project Apollo")
-        );
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setLimit(2500);
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO).getEmployees();
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("John Doe", result.get(0).getName());
+        assertEquals(2500, result.size());
+        verify(employeeRepository, times(3)).findProjectNamesByEmployeeIds(anyCollection());
+        verify(reviewRepository, times(3)).findLatestScores(anyCollection());
     }
 
     @Test
-    void testGetEmployees_WithNullParameters() {
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
+    void testGetEmployeesWithFilters_ReturnsNextCursorWhenMoreRowsExist() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setLimit(2);
+
+        givenResponseRows(
+                responseRow(1L, "John Doe", "Engineering", null),
+                responseRow(4L, "Mary Major", "Engineering", null),
+                responseRow(9L, "Sam Minor", "Engineering", null)
+        );
+        givenProjectRows();
+        givenScoreRows();
 
-        List<Employee> result = employeeService.getEmployees(null, null);
+        EmployeePageDTO page = employeeService.getEmployeesWithFilters(filterDTO);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(2, page.getEmployees().size());
+        assertEquals(PageCursor.encode(4L), page.getNextCursor());
+        verify(employeeRepository).findResponsePage(any(Specification.class), isNull(), eq(3));
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithNullDepartment() {
-        Employee employeeWithoutDept = new Employee();
-        employeeWithoutDept.setId(3L);
-        employeeWithoutDept.setName("No Dept Employee");
-        employeeWithoutDept.setEmail("no.dept@example.com");
-        employeeWithoutDept.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithoutDept.setSalary(80000.0);
-        employeeWithoutDept.setDepartment(null);
-        employeeWithoutDept.setManager(null);
-        employeeWithoutDept.setEmployeeProjects(Collections.emptyList());
-        employeeWithoutDept.setPerformanceReviews(Collections.emptyList());
+    void testGetEmployeesWithFilters_AnsweredFromSnapshotWhenAvailable() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(List.of("Engineering"));
+        filterDTO.setLimit(2);
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithoutDept));
+        when(employeeSnapshotService.canAnswer(filterDTO)).thenReturn(true);
+        when(employeeSnapshotService.findPage(eq(filterDTO), isNull(), eq(3), any())).thenReturn(new ArrayList<>(List.of(
+                responseRow(1L, "John Doe", "Engineering", null),
+                responseRow(4L, "Mary Major", "Engineering", "John Doe"))));
+        givenProjectRows(new Object[]{4L, "Project Apollo"});
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-        
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getDepartmentName());
-        assertNull(result.get(0).getManagerName());
+        EmployeePageDTO page = employeeService.getEmployeesWithFilters(filterDTO);
+
+        assertEquals(2, page.getEmployees().size());
+        assertNull(page.getNextCursor());
+        assertEquals(List.of("Project Apollo"), page.getEmployees().get(1).getProjectNames());
+        verify(employeeRepository, never()).findResponsePage(any(Specification.class), any(), anyInt());
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithNullManager() {
-        Employee employeeWithoutManager = new Employee();
-        employeeWithoutManager.setId(4L);
-        employeeWithoutManager.setName("No Manager Employee");
-        employeeWithoutManager.setEmail("no.manager@example.com");
-        employeeWithoutManager.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithoutManager.setSalary(80000.0);
-        employeeWithoutManager.setDepartment(testDepartment);
-        employeeWithoutManager.setManager(null);
-        employeeWithoutManager.setEmployeeProjects(Collections.emptyList());
-        employeeWithoutManager.setPerformanceReviews(Collections.emptyList());
+    void testGetEmployeesWithFilters_LastPageHasNoCursor() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setLimit(2);
+        filterDTO.setCursor(PageCursor.encode(4L));
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithoutManager));
+        givenResponseRows(responseRow(9L, "Sam Minor", "Engineering", null));
+        givenProjectRows();
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        EmployeePageDTO page = employeeService.getEmployeesWithFilters(filterDTO);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getManagerName());
+        assertEquals(1, page.getEmployees().size());
+        assertNull(page.getNextCursor());
+        verify(employeeRepository).findResponsePage(any(Specification.class), eq(4L), eq(3));
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithEmptyPerformanceReviews() {
-        Employee employeeWithoutReviews = new Employee();
-        employeeWithoutReviews.setId(5L);
-        employeeWithoutReviews.setName("No Reviews Employee");
-        employeeWithoutReviews.setEmail("no.reviews@example.com");
-        employeeWithoutReviews.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithoutReviews.setSalary(80000.0);
-        employeeWithoutReviews.setDepartment(testDepartment);
-        employeeWithoutReviews.setManager(testManager);
-        employeeWithoutReviews.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithoutReviews.setPerformanceReviews(Collections.emptyList());
+    void testGetEmployeesWithFilters_LimitCappedAtMaximum() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setLimit(1_000_000);
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithoutReviews));
+        givenResponseRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        employeeService.getEmployeesWithFilters(filterDTO);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getLastPerformanceScore());
+        verify(employeeRepository).findResponsePage(any(Specification.class), isNull(), eq(5001));
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithMultiplePerformanceReviews() {
-        PerformanceReview oldReview = new PerformanceReview();
-        oldReview.setId(2L);
-        oldReview.setEmployee(testEmployee);
-        oldReview.setReviewDate(LocalDate.of(2023, 12, 1));
-        oldReview.setScore(3.5);
-        oldReview.setReviewComments("Good performance");
+    void testGetEmployeesWithFilters_InvalidLimitOrCursorRejected() {
+        EmployeeFilterDTO zeroLimit = new EmployeeFilterDTO();
+        zeroLimit.setLimit(0);
+        EmployeeFilterDTO badCursor = new EmployeeFilterDTO();
+        badCursor.setCursor("not-a-cursor");
 
-        testEmployee.setPerformanceReviews(Arrays.asList(testReview, oldReview));
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesWithFilters(zeroLimit));
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesWithFilters(badCursor));
+    }
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
+    @Test
+    void testStreamEmployeesWithFilters_EmitsEveryRowWithProjectsAndScores() {
+        EmployeeResponseDTO[] rows = new EmployeeResponseDTO[1500];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = responseRow((long) i + 1, "Employee " + i, "Engineering", null);
+        }
+        when(employeeRepository.streamResponseRows(any(Specification.class), eq(1000)))
+                .thenReturn(Stream.of(rows));
+        givenProjectRows(new Object[]{1500L, "Project Apollo"});
+        givenScoreRows(new Object[]{1L, 4.5});
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        List<EmployeeResponseDTO> emitted = new ArrayList<>();
+        employeeService.streamEmployeesWithFilters(new EmployeeFilterDTO(), emitted::add);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // Should get the latest review score (4.5 from 2024-01-15)
-        assertEquals(4.5, result.get(0).getLastPerformanceScore());
+        assertEquals(1500, emitted.size());
+        assertEquals(4.5, emitted.get(0).getLastPerformanceScore());
+        assertEquals(Arrays.asList("Project Apollo"), emitted.get(1499).getProjectNames());
+        verify(employeeRepository, times(2)).findProjectNamesByEmployeeIds(anyCollection());
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithEmptyProjects() {
-        Employee employeeWithoutProjects = new Employee();
-        employeeWithoutProjects.setId(6L);
-        employeeWithoutProjects.setName("No Projects Employee");
-        employeeWithoutProjects.setEmail("no.projects@example.com");
-        employeeWithoutProjects.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithoutProjects.setSalary(80000.0);
-        employeeWithoutProjects.setDepartment(testDepartment);
-        employeeWithoutProjects.setManager(testManager);
-        employeeWithoutProjects.setEmployeeProjects(Collections.emptyList());
-        employeeWithoutProjects.setPerformanceReviews(Collections.emptyList());
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithoutProjects));
+    void testConvertToResponseDTO_EmployeeWithNullDepartmentAndManager() {
+        givenResponseRows(responseRow(10L, "No Relations Employee", null, null));
+        givenProjectRows();
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO()).getEmployees();
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertNull(result.get(0).getDepartmentName());
+        assertNull(result.get(0).getManagerName());
         assertTrue(result.get(0).getProjectNames().isEmpty());
+        assertNull(result.get(0).getLastPerformanceScore());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithEmptyLists() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Collections.emptyList());
-        filterDTO.setProjects(Collections.emptyList());
-
-        when(employeeRepository.findAllWithFilters(
-                eq(Collections.emptyList()),
-                eq(Collections.emptyList())
-        )).thenReturn(Arrays.asList(testEmployee));
+    void testGetEmployeeDetail_Success() {
+        when(employeeRepository.findWithDepartmentAndManagerById(1L)).thenReturn(Optional.of(testEmployee));
+        when(reviewRepository.findLast3ReviewRows(List.of(1L))).thenReturn(Collections.singletonList(
+                new Object[]{1L, 1L, LocalDate.of(2024, 1, 15), 4.5, "Excellent performance"}));
+        givenProjectRows(new Object[]{1L, "Project Apollo"}, new Object[]{1L, "Project Apollo"});
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        EmployeeDetailDTO result = employeeService.getEmployeeById(1L);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals("John Doe", result.getName());
+        assertEquals("john.doe@example.com", result.getEmail());
+        assertEquals("Engineering", result.getDepartmentName());
+        assertEquals(1, result.getLast3Reviews().size());
+        assertEquals(4.5, result.getLast3Reviews().get(0).getScore());
+        assertEquals(Arrays.asList("Project Apollo"), result.getProjects());
+    }
+
+    @Test
+    void testGetEmployeeDetail_EmployeeNotFound() {
+        when(employeeRepository.findWithDepartmentAndManagerById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.getEmployeeById(999L);
+        });
     }
 
     @Test
     void testGetEmployeeDetail_WithEmptyReviews() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
-        when(reviewRepository.findTop3ByEmployeeIdOrderByReviewDateDesc(1L))
-                .thenReturn(Collections.emptyList());
+        when(employeeRepository.findWithDepartmentAndManagerById(1L)).thenReturn(Optional.of(testEmployee));
+        when(reviewRepository.findLast3ReviewRows(List.of(1L))).thenReturn(Collections.emptyList());
 
-        EmployeeDetailDTO result = employeeService.getEmployeeDetail(1L);
+        EmployeeDetailDTO result = employeeService.getEmployeeById(1L);
 
         assertNotNull(result);
         assertEquals("John Doe", result.getName());
@@ -430,531 +488,214 @@ class EmployeeServiceTest {
         employeeWithoutDept.setEmployeeProjects(Collections.emptyList());
         employeeWithoutDept.setPerformanceReviews(Collections.emptyList());
 
-        when(employeeRepository.findById(7L)).thenReturn(Optional.of(employeeWithoutDept));
-        when(reviewRepository.findTop3ByEmployeeIdOrderByReviewDateDesc(7L))
-                .thenReturn(Collections.emptyList());
+        when(employeeRepository.findWithDepartmentAndManagerById(7L)).thenReturn(Optional.of(employeeWithoutDept));
+        when(reviewRepository.findLast3ReviewRows(List.of(7L))).thenReturn(Collections.emptyList());
 
-        EmployeeDetailDTO result = employeeService.getEmployeeDetail(7L);
+        EmployeeDetailDTO result = employeeService.getEmployeeById(7L);
 
         assertNotNull(result);
         assertNull(result.getDepartmentName());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithOnlyReviewDate() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setReviewDate(LocalDate.of(2024, 1, 15));
-        // Missing minScore and maxScore - should use basic filtering
-
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
+    void testGetEmployeeDetail_PartNotLoadedInTimeFails() {
+        // An executor that never runs the parts
+        ReflectionTestUtils.setField(employeeService, "detailExecutor", (Executor) task -> { });
+        ReflectionTestUtils.setField(employeeService, "detailPartTimeout", Duration.ofMillis(20));
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertThrows(DataLoadTimeoutException.class, () -> employeeService.getEmployeeById(1L));
+        verify(employeeRepository, never()).findWithDepartmentAndManagerById(anyLong());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithOnlyMinScore() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setMinScore(4.0);
-        // Missing reviewDate and maxScore - should use basic filtering
-
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-    }
+    void testGetEmployeesByIds_SetBasedWithMissingIdsReported() {
+        when(employeeRepository.findWithDepartmentAndManagerByIdIn(List.of(1L, 999L, 2L)))
+                .thenReturn(Arrays.asList(testEmployee, testManager));
+        givenProjectRows(new Object[]{1L, "Project Apollo"}, new Object[]{1L, "Project Apollo"});
+        when(reviewRepository.findLast3ReviewRows(anyCollection())).thenReturn(Arrays.asList(
+                new Object[]{1L, 5L, java.sql.Date.valueOf("2024-06-15"), 4.0, "Mid-year"},
+                new Object[]{1L, 1L, LocalDate.of(2024, 1, 15), 4.5, "Excellent performance"}));
 
-    @Test
-    void testGetEmployeesWithFilters_WithOnlyMaxScore() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setMaxScore(5.0);
-        // Missing reviewDate and minScore - should use basic filtering
+        EmployeeBatchDTO result = employeeService.getEmployeesByIds(Arrays.asList(1L, 999L, 1L, 2L));
 
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
+        assertEquals(Arrays.asList(1L, 2L), result.getEmployees().stream().map(EmployeeDetailDTO::getId).toList());
+        assertEquals(List.of(999L), result.getMissingIds());
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        EmployeeDetailDTO john = result.getEmployees().get(0);
+        assertEquals("Engineering", john.getDepartmentName());
+        assertEquals("Jane Manager", john.getManagerName());
+        assertEquals(List.of("Project Apollo"), john.getProjects());
+        assertEquals(LocalDate.of(2024, 6, 15), john.getLast3Reviews().get(0).getReviewDate());
+        assertEquals(2, john.getLast3Reviews().size());
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        EmployeeDetailDTO jane = result.getEmployees().get(1);
+        assertTrue(jane.getProjects().isEmpty());
+        assertTrue(jane.getLast3Reviews().isEmpty());
+        verify(employeeRepository, times(1)).findProjectNamesByEmployeeIds(anyCollection());
+        verify(reviewRepository, times(1)).findLast3ReviewRows(anyCollection());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithReviewDateAndMinScoreOnly() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setReviewDate(LocalDate.of(2024, 1, 15));
-        filterDTO.setMinScore(4.0);
-        // Missing maxScore - should use basic filtering
+    void testGetEmployeesByIds_EmptyOrOversizedRejected() {
+        ReflectionTestUtils.setField(employeeService, "maxBatchIds", 2);
 
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesByIds(List.of()));
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesByIds(List.of(1L, 2L, 3L)));
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesByIds(Arrays.asList(1L, null)));
+        verify(employeeRepository, never()).findWithDepartmentAndManagerByIdIn(anyCollection());
     }
 
-    @Test
-    void testGetEmployeesWithFilters_WithReviewDateAndMaxScoreOnly() {
-        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setReviewDate(LocalDate.of(2024, 1, 15));
-        filterDTO.setMaxScore(5.0);
-        // Missing minScore - should use basic filtering
-
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
+    private EmployeeReportDTO reportRow(Long id, String name, Long managerId, int depth) {
+        EmployeeReportDTO row = new EmployeeReportDTO();
+        row.setId(id);
+        row.setName(name);
+        row.setManagerId(managerId);
+        row.setDepth(depth);
+        return row;
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithMinScoreAndMaxScoreOnly() {
+    void testGetReports_AttachesProjectsAndScoresToWholeSubtree() {
         EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(Arrays.asList("Engineering"));
-        filterDTO.setProjects(Arrays.asList("Project Apollo"));
-        filterDTO.setMinScore(4.0);
-        filterDTO.setMaxScore(5.0);
-        // Missing reviewDate - should use basic filtering
-
-        when(employeeRepository.findAllWithFilters(
-                eq(Arrays.asList("Engineering")),
-                eq(Arrays.asList("Project Apollo"))
-        )).thenReturn(Arrays.asList(testEmployee));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithNullPerformanceReview() {
-        // Create an employee with a performance review that has null score
-        PerformanceReview nullScoreReview = new PerformanceReview();
-        nullScoreReview.setId(3L);
-        nullScoreReview.setEmployee(testEmployee);
-        nullScoreReview.setReviewDate(LocalDate.of(2024, 1, 20));
-        nullScoreReview.setScore(null); // This will test the null check branch
-        nullScoreReview.setReviewComments("Review with null score");
-
-        Employee employeeWithNullScore = new Employee();
-        employeeWithNullScore.setId(8L);
-        employeeWithNullScore.setName("Null Score Employee");
-        employeeWithNullScore.setEmail("null.score@example.com");
-        employeeWithNullScore.setDepartment(testDepartment);
-        employeeWithNullScore.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithNullScore.setSalary(80000.0);
-        employeeWithNullScore.setManager(testManager);
-        employeeWithNullScore.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithNullScore.setPerformanceReviews(Arrays.asList(nullScoreReview));
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithNullScore));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getLastPerformanceScore());
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithEmptyPerformanceReviewsList() {
-        Employee employeeWithEmptyReviews = new Employee();
-        employeeWithEmptyReviews.setId(9L);
-        employeeWithEmptyReviews.setName("Empty Reviews Employee");
-        employeeWithEmptyReviews.setEmail("empty.reviews@example.com");
-        employeeWithEmptyReviews.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithEmptyReviews.setSalary(80000.0);
-        employeeWithEmptyReviews.setDepartment(testDepartment);
-        employeeWithEmptyReviews.setManager(testManager);
-        employeeWithEmptyReviews.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithEmptyReviews.setPerformanceReviews(Collections.emptyList()); // Empty list
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithEmptyReviews));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getLastPerformanceScore());
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithNullPerformanceReviewScore() {
-        // Create an employee with a performance review that has null score
-        PerformanceReview nullScoreReview = new PerformanceReview();
-        nullScoreReview.setId(3L);
-        nullScoreReview.setEmployee(testEmployee);
-        nullScoreReview.setReviewDate(LocalDate.of(2024, 1, 20));
-        nullScoreReview.setScore(null); // This will test the null check branch
-        nullScoreReview.setReviewComments("Review with null score");
-
-        Employee employeeWithNullScore = new Employee();
-        employeeWithNullScore.setId(8L);
-        employeeWithNullScore.setName("Null Score Employee");
-        employeeWithNullScore.setEmail("null.score@example.com");
-        employeeWithNullScore.setDepartment(testDepartment);
-        employeeWithNullScore.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithNullScore.setSalary(80000.0);
-        employeeWithNullScore.setManager(testManager);
-        employeeWithNullScore.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithNullScore.setPerformanceReviews(Arrays.asList(nullScoreReview));
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithNullScore));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getLastPerformanceScore());
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithMultiplePerformanceReviewsDifferentDates() {
-        // Create multiple reviews with different dates to test the sorting logic
-        PerformanceReview oldReview = new PerformanceReview();
-        oldReview.setId(2L);
-        oldReview.setEmployee(testEmployee);
-        oldReview.setReviewDate(LocalDate.of(2023, 12, 1));
-        oldReview.setScore(3.5);
-        oldReview.setReviewComments("Good performance");
-
-        PerformanceReview newestReview = new PerformanceReview();
-        newestReview.setId(3L);
-        newestReview.setEmployee(testEmployee);
-        newestReview.setReviewDate(LocalDate.of(2024, 2, 1));
-        newestReview.setScore(4.8);
-        newestReview.setReviewComments("Outstanding performance");
-
-        testEmployee.setPerformanceReviews(Arrays.asList(testReview, oldReview, newestReview));
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // Should get the latest review score (4.8 from 2024-02-01)
-        assertEquals(4.8, result.get(0).getLastPerformanceScore());
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithPerformanceReviewsSameDate() {
-        // Create reviews with the same date to test edge case in sorting
-        PerformanceReview sameDateReview1 = new PerformanceReview();
-        sameDateReview1.setId(2L);
-        sameDateReview1.setEmployee(testEmployee);
-        sameDateReview1.setReviewDate(LocalDate.of(2024, 1, 15)); // Same date as testReview
-        sameDateReview1.setScore(4.0);
-        sameDateReview1.setReviewComments("Same date review 1");
-
-        PerformanceReview sameDateReview2 = new PerformanceReview();
-        sameDateReview2.setId(3L);
-        sameDateReview2.setEmployee(testEmployee);
-        sameDateReview2.setReviewDate(LocalDate.of(2024, 1, 15)); // Same date as testReview
-        sameDateReview2.setScore(4.2);
-        sameDateReview2.setReviewComments("Same date review 2");
-
-        testEmployee.setPerformanceReviews(Arrays.asList(testReview, sameDateReview1, sameDateReview2));
+        when(employeeRepository.existsById(2L)).thenReturn(true);
+        when(employeeRepository.findSubtreeRows(2L, 3, filterDTO)).thenReturn(new ArrayList<>(List.of(
+                reportRow(1L, "John Doe", 2L, 1),
+                reportRow(5L, "Sam Report", 1L, 2))));
+        givenProjectRows(new Object[]{5L, "Project Apollo"});
+        givenScoreRows(new Object[]{1L, 4.5});
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
+        List<EmployeeReportDTO> result = employeeService.getReports(2L, 3, filterDTO);
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // Should get one of the reviews with the same date (order may vary)
-        assertNotNull(result.get(0).getLastPerformanceScore());
-        assertTrue(result.get(0).getLastPerformanceScore() >= 4.0);
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithNullDepartmentAndManager() {
-        Employee employeeWithNullRelations = new Employee();
-        employeeWithNullRelations.setId(10L);
-        employeeWithNullRelations.setName("No Relations Employee");
-        employeeWithNullRelations.setEmail("no.relations@example.com");
-        employeeWithNullRelations.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithNullRelations.setSalary(80000.0);
-        employeeWithNullRelations.setDepartment(null);
-        employeeWithNullRelations.setManager(null);
-        employeeWithNullRelations.setEmployeeProjects(Collections.emptyList());
-        employeeWithNullRelations.setPerformanceReviews(Collections.emptyList());
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithNullRelations));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNull(result.get(0).getDepartmentName());
-        assertNull(result.get(0).getManagerName());
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getDepth());
+        assertEquals(4.5, result.get(0).getLastPerformanceScore());
         assertTrue(result.get(0).getProjectNames().isEmpty());
-        assertNull(result.get(0).getLastPerformanceScore());
+        assertEquals(2, result.get(1).getDepth());
+        assertEquals(List.of("Project Apollo"), result.get(1).getProjectNames());
+        assertNull(result.get(1).getLastPerformanceScore());
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithNullProjectNames() {
-        // Test when getProjectNames() returns null (edge case)
-        Employee employeeWithNullProjects = new Employee();
-        employeeWithNullProjects.setId(11L);
-        employeeWithNullProjects.setName("Null Projects Employee");
-        employeeWithNullProjects.setEmail("null.projects@example.com");
-        employeeWithNullProjects.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithNullProjects.setSalary(80000.0);
-        employeeWithNullProjects.setDepartment(testDepartment);
-        employeeWithNullProjects.setManager(testManager);
-        employeeWithNullProjects.setEmployeeProjects(Collections.emptyList()); // Use empty list instead of null
-        employeeWithNullProjects.setPerformanceReviews(Collections.emptyList());
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithNullProjects));
+    void testGetReports_DepthDefaultsToAndIsCappedAtMaximum() {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        when(employeeRepository.existsById(2L)).thenReturn(true);
+        when(employeeRepository.findSubtreeRows(eq(2L), anyInt(), eq(filterDTO))).thenReturn(new ArrayList<>());
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        employeeService.getReports(2L, null, filterDTO);
+        employeeService.getReports(2L, 1000, filterDTO);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // The getProjectNames() method should handle empty list gracefully
-        assertTrue(result.get(0).getProjectNames().isEmpty());
+        verify(employeeRepository, times(2)).findSubtreeRows(2L, 100, filterDTO);
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithNullFilterDTO() {
-        // Test with completely null filterDTO - this will cause NPE, so we need to handle it differently
-        // Since the method doesn't handle null filterDTO, we'll test the edge case where all fields are null
+    void testGetReports_InvalidDepthOrUnknownManagerRejected() {
         EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        // Don't set any fields - they will be null by default
-        
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        when(employeeRepository.existsById(2L)).thenReturn(true);
+        when(employeeRepository.existsById(999L)).thenReturn(false);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertThrows(BadRequestException.class, () -> employeeService.getReports(2L, 0, filterDTO));
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getReports(999L, 3, filterDTO));
+        verify(employeeRepository, never()).findSubtreeRows(any(), anyInt(), any());
     }
 
     @Test
-    void testGetEmployeesWithFilters_WithAllNullFilters() {
+    void testGetRankedEmployees_LatestScoresRankedAndLimitedByDatabase() {
         EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
-        filterDTO.setDepartments(null);
-        filterDTO.setProjects(null);
-        filterDTO.setReviewDate(null);
-        filterDTO.setMinScore(null);
-        filterDTO.setMaxScore(null);
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(testEmployee));
+        filterDTO.setDepartments(List.of("Engineering"));
+        when(employeeRepository.findLatestRankedScoreRows(filterDTO, 3, true)).thenReturn(List.of(
+                new Object[]{2L, new java.math.BigDecimal("4.80")}, new Object[]{4L, new java.math.BigDecimal("4.80")},
+                new Object[]{5L, new java.math.BigDecimal("4.10")}));
+        when(employeeRepository.findResponseRows(any())).thenReturn(List.of(
+                responseRow(4L, "Dana Lee", "Engineering", null),
+                responseRow(2L, "Sam Kim", "Engineering", null),
+                responseRow(5L, "Ana Ruiz", "Engineering", null)));
+        givenProjectRows();
+        givenScoreRows();
+
+        List<RankedEmployeeDTO> result = employeeService.getRankedEmployees(filterDTO, 3, true);
+
+        assertEquals(List.of(2L, 4L, 5L), result.stream().map(RankedEmployeeDTO::getId).toList());
+        assertEquals(List.of(1, 2, 3), result.stream().map(RankedEmployeeDTO::getRank).toList());
+        assertEquals(4.8, result.get(0).getRankedScore());
+        assertEquals("Sam Kim", result.get(0).getName());
+        assertNull(result.get(0).getReviewDate());
+        verify(scoreIndexService, never()).top(any(), anyInt());
+    }
+
+    @Test
+    void testGetRankedEmployees_ReviewDateWithFilterPushedDownToDatabase() {
+        LocalDate reviewDate = LocalDate.of(2024, 1, 15);
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setProjects(List.of("Project Apollo"));
+        filterDTO.setReviewDate(reviewDate);
+        when(employeeRepository.findRankedScoreRows(filterDTO, reviewDate, 10, false)).thenReturn(List.of(
+                new Object[]{3L, new java.math.BigDecimal("1.50")}, new Object[]{9L, new java.math.BigDecimal("2.00")}));
+        // Employee 9 was deleted after ranking
+        when(employeeRepository.findResponseRows(any())).thenReturn(List.of(responseRow(3L, "Lee Park", null, null)));
+        givenProjectRows(new Object[]{3L, "Project Apollo"});
+        givenScoreRows(new Object[]{3L, 2.5});
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(filterDTO);
+        List<RankedEmployeeDTO> result = employeeService.getRankedEmployees(filterDTO, null, false);
 
-        assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1.5, result.get(0).getRankedScore());
+        assertEquals(reviewDate, result.get(0).getReviewDate());
+        assertEquals(2.5, result.get(0).getLastPerformanceScore());
+        assertEquals(List.of("Project Apollo"), result.get(0).getProjectNames());
+        verify(scoreIndexService, never()).bottom(any(), anyInt());
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithSinglePerformanceReview() {
-        // Test with exactly one performance review to cover the stream operation branch
-        Employee employeeWithSingleReview = new Employee();
-        employeeWithSingleReview.setId(12L);
-        employeeWithSingleReview.setName("Single Review Employee");
-        employeeWithSingleReview.setEmail("single.review@example.com");
-        employeeWithSingleReview.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithSingleReview.setSalary(80000.0);
-        employeeWithSingleReview.setDepartment(testDepartment);
-        employeeWithSingleReview.setManager(testManager);
-        employeeWithSingleReview.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithSingleReview.setPerformanceReviews(Arrays.asList(testReview)); // Single review
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithSingleReview));
+    void testGetRankedEmployees_ReviewDateWithoutFilterUsesScoreIndex() {
+        LocalDate reviewDate = LocalDate.of(2024, 1, 15);
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setReviewDate(reviewDate);
+        when(scoreIndexService.isReady()).thenReturn(true);
+        when(scoreIndexService.top(reviewDate, 1000)).thenReturn(List.of(new ScoreIndexService.EmployeeScore(1L, 4.5)));
+        when(employeeRepository.findResponseRows(any())).thenReturn(List.of(
+                responseRow(1L, "John Doe", "Engineering", "Jane Manager")));
+        givenProjectRows();
+        givenScoreRows();
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        List<RankedEmployeeDTO> result = employeeService.getRankedEmployees(filterDTO, 5000, true);
 
-        assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(4.5, result.get(0).getLastPerformanceScore());
+        assertEquals(4.5, result.get(0).getRankedScore());
+        verify(employeeRepository, never()).findRankedScoreRows(any(), any(), anyInt(), anyBoolean());
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithNullPerformanceReviewDate() {
-        // Test with a performance review that has null review date
-        PerformanceReview nullDateReview = new PerformanceReview();
-        nullDateReview.setId(4L);
-        nullDateReview.setEmployee(testEmployee);
-        nullDateReview.setReviewDate(null); // Null date
-        nullDateReview.setScore(4.0);
-        nullDateReview.setReviewComments("Review with null date");
-
-        Employee employeeWithNullDateReview = new Employee();
-        employeeWithNullDateReview.setId(13L);
-        employeeWithNullDateReview.setName("Null Date Review Employee");
-        employeeWithNullDateReview.setEmail("null.date.review@example.com");
-        employeeWithNullDateReview.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithNullDateReview.setSalary(80000.0);
-        employeeWithNullDateReview.setDepartment(testDepartment);
-        employeeWithNullDateReview.setManager(testManager);
-        employeeWithNullDateReview.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithNullDateReview.setPerformanceReviews(Arrays.asList(nullDateReview));
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithNullDateReview));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // The sorting might fail with null date, so we test this edge case
-        assertNotNull(result.get(0).getLastPerformanceScore());
-    }
-
-    @Test
-    void testConvertToResponseDTO_EmployeeWithPerformanceReviewsButNullScore() {
-        // Test the case where performance reviews exist but the score is null
-        // This tests the branch where latestReview != null but score is null
-        PerformanceReview nullScoreReview = new PerformanceReview();
-        nullScoreReview.setId(5L);
-        nullScoreReview.setEmployee(testEmployee);
-        nullScoreReview.setReviewDate(LocalDate.of(2024, 1, 25));
-        nullScoreReview.setScore(null); // Null score
-        nullScoreReview.setReviewComments("Review with null score");
-
-        Employee employeeWithNullScoreReview = new Employee();
-        employeeWithNullScoreReview.setId(14L);
-        employeeWithNullScoreReview.setName("Null Score Review Employee");
-        employeeWithNullScoreReview.setEmail("null.score.review@example.com");
-        employeeWithNullScoreReview.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithNullScoreReview.setSalary(80000.0);
-        employeeWithNullScoreReview.setDepartment(testDepartment);
-        employeeWithNullScoreReview.setManager(testManager);
-        employeeWithNullScoreReview.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        employeeWithNullScoreReview.setPerformanceReviews(Arrays.asList(nullScoreReview));
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithNullScoreReview));
-
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // The score should be null because the review score is null
-        assertNull(result.get(0).getLastPerformanceScore());
+    void testGetRankedEmployees_InvalidNRejected() {
+        assertThrows(BadRequestException.class,
+                () -> employeeService.getRankedEmployees(new EmployeeFilterDTO(), 0, true));
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithEmptyStreamResult() {
-        // Test the case where the stream operations might return empty results
-        // This tests edge cases in the stream pipeline
-        Employee employeeWithEmptyStream = new Employee();
-        employeeWithEmptyStream.setId(15L);
-        employeeWithEmptyStream.setName("Empty Stream Employee");
-        employeeWithEmptyStream.setEmail("empty.stream@example.com");
-        employeeWithEmptyStream.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithEmptyStream.setSalary(80000.0);
-        employeeWithEmptyStream.setDepartment(testDepartment);
-        employeeWithEmptyStream.setManager(testManager);
-        employeeWithEmptyStream.setEmployeeProjects(Collections.emptyList());
-        employeeWithEmptyStream.setPerformanceReviews(Collections.emptyList());
-
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithEmptyStream));
+    void testStreamLegacyEmployees_ProjectNamesOnlyNoEntities() {
+        when(employeeRepository.streamResponseRows(any(Specification.class), eq(1000)))
+                .thenReturn(Stream.of(responseRow(1L, "John Doe", "Engineering", "Jane Manager")));
+        givenProjectRows(new Object[]{1L, "Project Apollo"}, new Object[]{1L, "Project Apollo"});
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
+        List<LegacyEmployeeDTO> emitted = new ArrayList<>();
+        employeeService.streamLegacyEmployees(
+                Arrays.asList("Engineering"), Arrays.asList("Project Apollo"), emitted::add);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertTrue(result.get(0).getProjectNames().isEmpty());
-        assertNull(result.get(0).getLastPerformanceScore());
+        assertEquals(1, emitted.size());
+        assertEquals("John Doe", emitted.get(0).getName());
+        assertEquals(LocalDate.of(2020, 1, 10), emitted.get(0).getDateOfJoining());
+        assertEquals(Arrays.asList("Project Apollo"), emitted.get(0).getProjectNames());
+        verify(reviewRepository, never()).findLatestScores(anyCollection());
+        verify(employeeRepository, never()).findAll(any(Specification.class));
     }
 
     @Test
-    void testConvertToResponseDTO_EmployeeWithStreamReturningNull() {
-        // Test the case where the stream operation might return null from findFirst().orElse(null)
-        // This tests the branch where latestReview == null after stream operations
-        Employee employeeWithStreamNull = new Employee();
-        employeeWithStreamNull.setId(16L);
-        employeeWithStreamNull.setName("Stream Null Employee");
-        employeeWithStreamNull.setEmail("stream.null@example.com");
-        employeeWithStreamNull.setDateOfJoining(LocalDate.of(2020, 1, 1));
-        employeeWithStreamNull.setSalary(80000.0);
-        employeeWithStreamNull.setDepartment(testDepartment);
-        employeeWithStreamNull.setManager(testManager);
-        employeeWithStreamNull.setEmployeeProjects(Arrays.asList(testEmployeeProject));
-        // Create a review that might cause stream issues
-        employeeWithStreamNull.setPerformanceReviews(Arrays.asList(testReview));
+    void testStreamLegacyEmployees_WithNullParameters() {
+        when(employeeRepository.streamResponseRows(any(Specification.class), eq(1000))).thenReturn(Stream.empty());
 
-        when(employeeRepository.findAllWithFilters(
-                eq(null),
-                eq(null)
-        )).thenReturn(Arrays.asList(employeeWithStreamNull));
+        List<LegacyEmployeeDTO> emitted = new ArrayList<>();
+        employeeService.streamLegacyEmployees(null, null, emitted::add);
 
-        List<EmployeeResponseDTO> result = employeeService.getEmployeesWithFilters(new EmployeeFilterDTO());
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        // Should get the performance score from the review
-        assertEquals(4.5, result.get(0).getLastPerformanceScore());
+        assertTrue(emitted.isEmpty());
+        verify(employeeRepository, never()).findProjectNamesByEmployeeIds(anyCollection());
     }
 }
@@ -0,0 +1,253 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.EmployeeFilterDTO;
+import com.assignment.employeemanagement.dto.EmployeeResponseDTO;
+import com.assignment.employeemanagement.entities.Department;
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.entities.EmployeeProject;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.repositories.EmployeeSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotServiceTest {
+    private static final LocalDate JOINED = LocalDate.of(2020, 1, 10);
+
+    @Mock
+    private EmployeeSnapshotRepository snapshotRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EmployeeCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private EmployeeVersions employeeVersions;
+
+    @InjectMocks
+    private EmployeeSnapshotService snapshotService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(snapshotService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(snapshotService, "enabled", true);
+        ReflectionTestUtils.setField(snapshotService, "fullRebuildIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(snapshotService, "verifySampleRate", 0.0);
+    }
+
+    // Engineering: 1 (manager), 2, 4; Sales: 3. Apollo: 1, 2; Zeus: 2, 3
+    private void givenEmployees() {
+        when(snapshotRepository.findDepartmentNames()).thenReturn(Map.of(10L, "Engineering", 20L, "Sales"));
+        when(snapshotRepository.findProjectNames()).thenReturn(Map.of(100L, "Apollo", 200L, "Zeus"));
+        doAnswer(invocation -> {
+            EmployeeSnapshotRepository.EmployeeRowHandler handler = invocation.getArgument(0);
+            handler.accept(4L, "Dan", "dan@example.com", JOINED, 70000.0, 10L, 1L);
+            handler.accept(1L, "Ann", "ann@example.com", JOINED, 150000.0, 10L, null);
+            handler.accept(3L, "Cid", "cid@example.com", JOINED, 80000.0, 20L, 1L);
+            handler.accept(2L, "Bob", "bob@example.com", JOINED, 90000.0, 10L, 1L);
+            return null;
+        }).when(snapshotRepository).forEachEmployee(any());
+        doAnswer(invocation -> {
+            EmployeeSnapshotRepository.MembershipRowHandler handler = invocation.getArgument(0);
+            handler.accept(1L, 100L);
+            handler.accept(2L, 100L);
+            handler.accept(2L, 200L);
+            handler.accept(3L, 200L);
+            return null;
+        }).when(snapshotRepository).forEachMembership(any());
+    }
+
+    private static EmployeeFilterDTO filter(List<String> departments, List<String> projects) {
+        EmployeeFilterDTO filterDTO = new EmployeeFilterDTO();
+        filterDTO.setDepartments(departments);
+        filterDTO.setProjects(projects);
+        return filterDTO;
+    }
+
+    private static EmployeeFilterDTO filter(List<String> departments) {
+        return filter(departments, null);
+    }
+
+    private List<Long> pageIds(EmployeeFilterDTO filterDTO, Long afterId, int limit) {
+        return snapshotService.findPage(filterDTO, afterId, limit, List::of).stream()
+                .map(EmployeeResponseDTO::getId)
+                .toList();
+    }
+
+    @Test
+    void testCanAnswer_OnlyAfterFirstBuildAndWithoutReviewCriteria() {
+        assertFalse(snapshotService.canAnswer(filter(null, null)));
+
+        givenEmployees();
+        snapshotService.refresh();
+
+        assertTrue(snapshotService.canAnswer(filter(List.of("Engineering"), null)));
+        EmployeeFilterDTO withScore = filter(null, null);
+        withScore.setMinScore(4.0);
+        assertFalse(snapshotService.canAnswer(withScore));
+    }
+
+    @Test
+    void testFindPage_IntersectsDepartmentAndProjectBitsetsInIdOrder() {
+        givenEmployees();
+        snapshotService.refresh();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), pageIds(filter(null, null), null, 10));
+        assertEquals(List.of(1L, 2L, 4L), pageIds(filter(List.of("Engineering"), null), null, 10));
+        assertEquals(List.of(2L, 3L), pageIds(filter(null, List.of("Zeus")), null, 10));
+        assertEquals(List.of(2L), pageIds(filter(List.of("Engineering"), List.of("Zeus")), null, 10));
+        // Names compare like MySQL's default collation; unknown names match nobody
+        assertEquals(List.of(1L, 2L, 3L), pageIds(filter(null, List.of("apollo", "ZEUS ")), null, 10));
+        assertEquals(List.of(), pageIds(filter(List.of("Marketing"), null), null, 10));
+    }
+
+    @Test
+    void testFindPage_SeeksPastCursorAndFillsDepartmentAndManagerNames() {
+        givenEmployees();
+        snapshotService.refresh();
+
+        assertEquals(List.of(2L, 3L), pageIds(filter(null, null), 1L, 2));
+        assertEquals(List.of(4L), pageIds(filter(List.of("Engineering")), 2L, 2));
+
+        EmployeeResponseDTO dan = snapshotService.findPage(filter(null, null), 3L, 1, List::of).get(0);
+        assertEquals("Dan", dan.getName());
+        assertEquals(70000.0, dan.getSalary());
+        assertEquals(JOINED, dan.getDateOfJoining());
+        assertEquals("Engineering", dan.getDepartmentName());
+        assertEquals("Ann", dan.getManagerName());
+        assertNull(dan.getProjectNames());
+    }
+
+    @Test
+    void testRefresh_RereadsOnlyChangedEmployees() {
+        givenEmployees();
+        snapshotService.refresh();
+
+        // Bob moves to Sales and leaves Zeus
+        doAnswer(invocation -> {
+            EmployeeSnapshotRepository.EmployeeRowHandler handler = invocation.getArgument(1);
+            handler.accept(2L, "Bob", "bob@example.com", JOINED, 95000.0, 20L, 1L);
+            return null;
+        }).when(snapshotRepository).forEachEmployee(eq(List.of(2L)), any());
+        doAnswer(invocation -> {
+            EmployeeSnapshotRepository.MembershipRowHandler handler = invocation.getArgument(1);
+            handler.accept(2L, 100L);
+            return null;
+        }).when(snapshotRepository).forEachMembership(eq(List.of(2L)), any());
+
+        snapshotService.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                Employee.class, EmployeeDataChangedEvent.ChangeType.UPDATED, 2L, null));
+        snapshotService.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                EmployeeProject.class, EmployeeDataChangedEvent.ChangeType.DELETED, 2L, null));
+        snapshotService.refresh();
+
+        assertEquals(List.of(2L, 3L), pageIds(filter(List.of("Sales")), null, 10));
+        assertEquals(List.of(3L), pageIds(filter(null, List.of("Zeus")), null, 10));
+        assertEquals(List.of(1L, 4L), pageIds(filter(List.of("Engineering")), null, 10));
+        verify(snapshotRepository, times(1)).forEachEmployee(any());
+        verify(cacheInvalidator, times(2)).filterResultsChanged();
+        verify(employeeVersions, times(2)).listsChanged();
+    }
+
+    @Test
+    void testRefresh_AppendsNewEmployeesAndKeepsManagerNamesCurrent() {
+        givenEmployees();
+        snapshotService.refresh();
+
+        // Ann is renamed and Eve joins Sales and Apollo, reporting to Ann
+        doAnswer(invocation -> {
+            EmployeeSnapshotRepository.EmployeeRowHandler handler = invocation.getArgument(1);
+            handler.accept(1L, "Anna", "ann@example.com", JOINED, 150000.0, 10L, null);
+            handler.accept(5L, "Eve", "eve@example.com", JOINED, 60000.0, 20L, 1L);
+            return null;
+        }).when(snapshotRepository).forEachEmployee(eq(List.of(1L, 5L)), any());
+        doAnswer(invocation -> {
+            EmployeeSnapshotRepository.MembershipRowHandler handler = invocation.getArgument(1);
+            handler.accept(1L, 100L);
+            handler.accept(5L, 100L);
+            return null;
+        }).when(snapshotRepository).forEachMembership(eq(List.of(1L, 5L)), any());
+
+        snapshotService.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                Employee.class, EmployeeDataChangedEvent.ChangeType.UPDATED, 1L, null));
+        snapshotService.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                Employee.class, EmployeeDataChangedEvent.ChangeType.CREATED, 5L, null));
+        snapshotService.refresh();
+
+        assertEquals(List.of(3L, 5L), pageIds(filter(List.of("Sales")), null, 10));
+        assertEquals(List.of(1L, 2L, 5L), pageIds(filter(null, List.of("Apollo")), null, 10));
+        EmployeeResponseDTO dan = snapshotService.findPage(filter(null, null), 3L, 2, List::of).get(0);
+        assertEquals("Anna", dan.getManagerName());
+        EmployeeResponseDTO eve = snapshotService.findPage(filter(null, null), 4L, 1, List::of).get(0);
+        assertEquals("Eve", eve.getName());
+        assertEquals("Sales", eve.getDepartmentName());
+        assertEquals("Anna", eve.getManagerName());
+        verify(snapshotRepository, times(1)).forEachEmployee(any());
+    }
+
+    @Test
+    void testRefresh_RenamedDepartmentReencodesAllRows() {
+        givenEmployees();
+        snapshotService.refresh();
+
+        when(snapshotRepository.findDepartmentNames()).thenReturn(Map.of(10L, "R&D", 20L, "Sales"));
+        snapshotService.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                Department.class, EmployeeDataChangedEvent.ChangeType.UPDATED, null, null));
+        snapshotService.refresh();
+
+        assertEquals(List.of(1L, 2L, 4L), pageIds(filter(List.of("R&D")), null, 10));
+        assertEquals(List.of(), pageIds(filter(List.of("Engineering")), null, 10));
+        assertEquals("R&D", snapshotService.findPage(filter(null, null), null, 1, List::of).get(0).getDepartmentName());
+    }
+
+    @Test
+    void testRefresh_EmployeeGoneMeanwhileIsDropped() {
+        givenEmployees();
+        snapshotService.refresh();
+
+        // Cid's assignment changed, but Cid is deleted before the refresh reads him back
+        snapshotService.onEmployeeDataChanged(new EmployeeDataChangedEvent(
+                EmployeeProject.class, EmployeeDataChangedEvent.ChangeType.DELETED, 3L, null));
+        snapshotService.refresh();
+
+        assertEquals(List.of(1L, 2L, 4L), pageIds(filter(null, null), null, 10));
+        assertEquals(List.of(2L), pageIds(filter(null, List.of("Zeus")), null, 10));
+    }
+
+    @Test
+    void testFindPage_SampledMismatchReturnsSqlPageAndRebuilds() {
+        givenEmployees();
+        snapshotService.refresh();
+        ReflectionTestUtils.setField(snapshotService, "verifySampleRate", 1.0);
+
+        EmployeeResponseDTO fromSql = new EmployeeResponseDTO();
+        fromSql.setId(2L);
+        List<EmployeeResponseDTO> page = snapshotService.findPage(
+                filter(null, List.of("Zeus")), null, 10, () -> List.of(fromSql));
+
+        assertEquals(List.of(fromSql), page);
+        assertEquals(1.0, meterRegistry.counter("employees.snapshot.mismatches").count());
+
+        snapshotService.refresh();
+        verify(snapshotRepository, times(2)).forEachEmployee(any());
+    }
+}
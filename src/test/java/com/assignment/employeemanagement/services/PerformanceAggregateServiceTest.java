@@ -0,0 +1,212 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ScoreStatsDTO;
+import com.assignment.employeemanagement.entities.Department;
+import com.assignment.employeemanagement.entities.Employee;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.entities.Project;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.exceptions.ResourceNotFoundException;
+import com.assignment.employeemanagement.exceptions.ServiceNotReadyException;
+import com.assignment.employeemanagement.repositories.DepartmentRepository;
+import com.assignment.employeemanagement.repositories.PerformanceAggregateRepository;
+import com.assignment.employeemanagement.repositories.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceAggregateServiceTest {
+    private static final LocalDate REVIEW_DATE = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private PerformanceAggregateRepository aggregateRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PerformanceAggregateService aggregateService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(aggregateService, "fullRebuildIntervalMs", 3_600_000L);
+    }
+
+    private void givenScores() {
+        doAnswer(invocation -> {
+            PerformanceAggregateRepository.ScoreRowHandler handler = invocation.getArgument(0);
+            handler.accept(1L, REVIEW_DATE, 4.0);
+            handler.accept(1L, REVIEW_DATE, 3.0);
+            handler.accept(1L, REVIEW_DATE.plusMonths(6), 5.0);
+            return null;
+        }).when(aggregateRepository).forEachDepartmentScore(any());
+        doAnswer(invocation -> {
+            PerformanceAggregateRepository.ScoreRowHandler handler = invocation.getArgument(0);
+            handler.accept(10L, REVIEW_DATE, 4.0);
+            return null;
+        }).when(aggregateRepository).forEachProjectScore(any());
+        when(aggregateRepository.findDepartmentNames()).thenReturn(Map.of(1L, "Engineering"));
+        when(aggregateRepository.findProjectNames()).thenReturn(Map.of(10L, "Project Apollo"));
+    }
+
+    private EmployeeDataChangedEvent reviewCreated(long reviewId, long employeeId, double score) {
+        PerformanceReview review = new PerformanceReview(reviewId, null, REVIEW_DATE, score, null);
+        return new EmployeeDataChangedEvent(PerformanceReview.class,
+                EmployeeDataChangedEvent.ChangeType.CREATED, employeeId, review);
+    }
+
+    @Test
+    void testGetDepartmentStats_BeforeFirstBuildThrowsNotReady() {
+        assertThrows(ServiceNotReadyException.class, () -> aggregateService.getDepartmentStats(1L, null));
+    }
+
+    @Test
+    void testGetDepartmentStats_AfterRebuildReturnsOneEntryPerReviewDate() {
+        givenScores();
+        aggregateService.refresh();
+
+        ScoreStatsDTO stats = aggregateService.getDepartmentStats(1L, null);
+
+        assertEquals("Engineering", stats.getName());
+        assertEquals(2, stats.getReviewDates().size());
+        ScoreStatsDTO.ReviewDateStats first = stats.getReviewDates().get(0);
+        assertEquals(REVIEW_DATE, first.getReviewDate());
+        assertEquals(2, first.getCount());
+        assertEquals(3.5, first.getAverage(), 1e-9);
+        assertEquals(3.0, first.getMin(), 1e-9);
+        assertEquals(4.0, first.getMax(), 1e-9);
+
+        ScoreStatsDTO single = aggregateService.getDepartmentStats(1L, REVIEW_DATE.plusMonths(6));
+        assertEquals(1, single.getReviewDates().size());
+        assertEquals(5.0, single.getReviewDates().get(0).getP50(), 1e-9);
+    }
+
+    @Test
+    void testRefresh_AppliesQueuedReviewsIncrementally() {
+        givenScores();
+        aggregateService.refresh();
+
+        when(aggregateRepository.findDepartmentIds(anyCollection())).thenReturn(Map.of(7L, 1L));
+        when(aggregateRepository.findProjectIds(anyCollection())).thenReturn(Map.of(7L, List.of(10L, 11L)));
+        aggregateService.onEmployeeDataChanged(reviewCreated(100L, 7L, 2.0));
+        aggregateService.refresh();
+
+        assertEquals(3, aggregateService.getDepartmentStats(1L, REVIEW_DATE).getReviewDates().get(0).getCount());
+        assertEquals(2, aggregateService.getProjectStats(10L, REVIEW_DATE).getReviewDates().get(0).getCount());
+        // Project 11 was created after the rebuild
+        Project project = new Project();
+        project.setName("Project Zeus");
+        when(projectRepository.findById(11L)).thenReturn(Optional.of(project));
+        assertEquals(1, aggregateService.getProjectStats(11L, REVIEW_DATE).getReviewDates().get(0).getCount());
+        verify(aggregateRepository, times(1)).forEachDepartmentScore(any());
+    }
+
+    @Test
+    void testRefresh_AfterReviewUpdateRebuildsFromDatabase() {
+        givenScores();
+        aggregateService.refresh();
+
+        aggregateService.onEmployeeDataChanged(new EmployeeDataChangedEvent(PerformanceReview.class,
+                EmployeeDataChangedEvent.ChangeType.UPDATED, 7L, null));
+        aggregateService.refresh();
+
+        verify(aggregateRepository, times(2)).forEachDepartmentScore(any());
+        verify(aggregateRepository, never()).findDepartmentIds(anyCollection());
+    }
+
+    @Test
+    void testRebuild_AppliesOnlyReviewsMissingFromTheSnapshot() {
+        doAnswer(invocation -> {
+            PerformanceAggregateRepository.ScoreRowHandler handler = invocation.getArgument(0);
+            // Two reviews commit while the scan is running
+            aggregateService.onEmployeeDataChanged(reviewCreated(100L, 7L, 1.0));
+            aggregateService.onEmployeeDataChanged(reviewCreated(101L, 7L, 2.0));
+            handler.accept(1L, REVIEW_DATE, 1.0);
+            return null;
+        }).when(aggregateRepository).forEachDepartmentScore(any());
+        when(aggregateRepository.findDepartmentNames()).thenReturn(Map.of(1L, "Engineering"));
+        when(aggregateRepository.findVisibleReviewIds(anyCollection())).thenReturn(Set.of(100L));
+        when(aggregateRepository.findDepartmentIds(anyCollection())).thenReturn(Map.of(7L, 1L));
+        when(aggregateRepository.findProjectIds(anyCollection())).thenReturn(Map.of());
+
+        aggregateService.refresh();
+
+        ScoreStatsDTO.ReviewDateStats stats = aggregateService.getDepartmentStats(1L, REVIEW_DATE).getReviewDates().get(0);
+        assertEquals(2, stats.getCount());
+        assertEquals(1.5, stats.getAverage(), 1e-9);
+    }
+
+    @Test
+    void testRefresh_ReviewReportedAfterRebuildScanIsNotAppliedTwice() {
+        givenScores();
+        when(aggregateRepository.findMaxReviewId()).thenReturn(100L);
+        aggregateService.refresh();
+
+        // Review 100 was in the rebuild's snapshot, but its listener ran after the scan finished
+        aggregateService.onEmployeeDataChanged(reviewCreated(100L, 7L, 2.0));
+        aggregateService.refresh();
+
+        assertEquals(2, aggregateService.getDepartmentStats(1L, REVIEW_DATE).getReviewDates().get(0).getCount());
+        verify(aggregateRepository, never()).findDepartmentIds(anyCollection());
+        aggregateService.refresh();
+        verify(aggregateRepository, times(2)).forEachDepartmentScore(any());
+    }
+
+    @Test
+    void testOnEmployeeDataChanged_NewEmployeeDoesNotRebuild() {
+        givenScores();
+        aggregateService.refresh();
+
+        aggregateService.onEmployeeDataChanged(new EmployeeDataChangedEvent(Employee.class,
+                EmployeeDataChangedEvent.ChangeType.CREATED, 7L, new Employee()));
+        aggregateService.refresh();
+
+        verify(aggregateRepository, times(1)).forEachDepartmentScore(any());
+    }
+
+    @Test
+    void testGetDepartmentStats_CreatedAfterRebuildReturnsEmptyStats() {
+        givenScores();
+        aggregateService.refresh();
+        Department department = new Department();
+        department.setId(2L);
+        department.setName("Research");
+        when(departmentRepository.findById(2L)).thenReturn(Optional.of(department));
+
+        ScoreStatsDTO stats = aggregateService.getDepartmentStats(2L, null);
+
+        assertEquals("Research", stats.getName());
+        assertTrue(stats.getReviewDates().isEmpty());
+    }
+
+    @Test
+    void testGetProjectStats_UnknownIdThrowsNotFound() {
+        givenScores();
+        aggregateService.refresh();
+        when(projectRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> aggregateService.getProjectStats(99L, null));
+    }
+}
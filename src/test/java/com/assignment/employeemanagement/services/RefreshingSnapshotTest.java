@@ -0,0 +1,60 @@
+package com.assignment.employeemanagement.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshingSnapshotTest {
+    private static final long HOUR_MS = 3_600_000;
+
+    private final RefreshingSnapshot<String> snapshot = new RefreshingSnapshot<>("test model", value -> value);
+    private final AtomicInteger rebuilds = new AtomicInteger();
+
+    @Test
+    void testRefresh_WithoutSnapshotRebuildsThenUpdates() {
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> current + "+update");
+        assertEquals("rebuild-1", snapshot.get());
+
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> current + "+update");
+        assertEquals("rebuild-1+update", snapshot.get());
+        assertEquals(1, rebuilds.get());
+    }
+
+    @Test
+    void testRefresh_AfterRequestRebuildRebuildsOnce() {
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> current);
+        snapshot.requestRebuild();
+
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> current);
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> current);
+
+        assertEquals("rebuild-2", snapshot.get());
+        assertEquals(2, rebuilds.get());
+    }
+
+    @Test
+    void testRefresh_AfterFullRebuildIntervalRebuilds() {
+        snapshot.refresh(0, this::rebuild, current -> current);
+        snapshot.refresh(0, this::rebuild, current -> current);
+
+        assertEquals(2, rebuilds.get());
+    }
+
+    @Test
+    void testRefresh_WhenDatabaseFailsKeepsPreviousSnapshot() {
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> current);
+
+        snapshot.refresh(HOUR_MS, this::rebuild, current -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        });
+
+        assertEquals("rebuild-1", snapshot.get());
+    }
+
+    private String rebuild() {
+        return "rebuild-" + rebuilds.incrementAndGet();
+    }
+}
@@ -0,0 +1,162 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ReviewImportResultDTO;
+import com.assignment.employeemanagement.dto.ReviewImportRow;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.events.ImportedReviews;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
+import com.assignment.employeemanagement.repositories.PerformanceReviewBulkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewImportServiceTest {
+
+    @Mock
+    private PerformanceReviewBulkRepository bulkRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReviewImportService reviewImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reviewImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(reviewImportService, "batchSize", 500);
+    }
+
+    private ReviewImportReader csv(String body) throws IOException {
+        return ReviewImportReader.csv(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void givenEmployees(Long... ids) {
+        Set<Long> known = Set.of(ids);
+        when(bulkRepository.findExistingEmployeeIds(anyCollection())).thenAnswer(invocation -> {
+            Set<Long> existing = new HashSet<>(invocation.<Collection<Long>>getArgument(0));
+            existing.retainAll(known);
+            return existing;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportReviews_CsvInCommittedChunks() throws IOException {
+        givenEmployees(1L, 2L);
+        when(bulkRepository.reserveIds(anyInt())).thenReturn(100L, 102L);
+
+        ReviewImportResultDTO result = reviewImportService.importReviews(csv(
+                "employeeId,reviewDate,score,reviewComments\n" +
+                        "1,2024-06-30,4.5,\"Great, \"\"consistent\"\" work\"\n" +
+                        "2,2024-06-30,3.0,\n" +
+                        "1,2024-09-30,4.0,Steady\n"));
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getRowsRead());
+        assertEquals(3, result.getRowsImported());
+        assertEquals(0, result.getRowsRejected());
+        assertEquals(2, result.getChunksCommitted());
+
+        ArgumentCaptor<List<ReviewImportRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepository).insertReviews(rows.capture(), eq(100L), eq(500));
+        ReviewImportRow first = rows.getValue().get(0);
+        assertEquals(1L, first.getEmployeeId());
+        assertEquals(LocalDate.of(2024, 6, 30), first.getReviewDate());
+        assertEquals("Great, \"consistent\" work", first.getReviewComments());
+        assertNull(rows.getValue().get(1).getReviewComments());
+        verify(bulkRepository).insertReviews(anyList(), eq(102L), eq(500));
+
+        // Each chunk's event carries its rows with the ids they were inserted under
+        ArgumentCaptor<EmployeeDataChangedEvent> events = ArgumentCaptor.forClass(EmployeeDataChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        ImportedReviews imported = (ImportedReviews) events.getAllValues().get(0).getEntity();
+        assertEquals(List.of(new ImportedReviews.Review(100L, 1L, LocalDate.of(2024, 6, 30), 4.5),
+                new ImportedReviews.Review(101L, 2L, LocalDate.of(2024, 6, 30), 3.0)), imported.reviews());
+    }
+
+    @Test
+    void testImportReviews_RejectsInvalidRowsAndUnknownEmployeesWithLineNumbers() throws IOException {
+        givenEmployees(1L);
+        when(bulkRepository.reserveIds(1)).thenReturn(1L);
+
+        ReviewImportResultDTO result = reviewImportService.importReviews(csv(
+                "employee_id,review_date,score\n" +
+                        "1,2024-06-30,4.5\n" +
+                        "1,not-a-date,4.5\n" +
+                        "1,2024-06-30,7\n" +
+                        "99,2024-06-30,3.0\n"));
+
+        assertTrue(result.isCompleted());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(1, result.getRowsImported());
+        assertEquals(3, result.getRowsRejected());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(ReviewImportResultDTO.RowError::getLine).sorted().toList());
+        assertTrue(result.getErrors().stream().anyMatch(error -> error.getMessage().contains("Employee not found with id: 99")));
+    }
+
+    @Test
+    void testImportReviews_NdjsonReportsMalformedLines() throws IOException {
+        givenEmployees(7L);
+        when(bulkRepository.reserveIds(1)).thenReturn(1L);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        ReviewImportResultDTO result = reviewImportService.importReviews(ReviewImportReader.ndjson(
+                new ByteArrayInputStream(("{\"employeeId\":7,\"reviewDate\":\"2024-06-30\",\"score\":4.2}\n" +
+                        "\n" +
+                        "{\"employeeId\":7,\n" +
+                        "null\n").getBytes(StandardCharsets.UTF_8)), objectMapper));
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(1, result.getRowsImported());
+        assertEquals(2, result.getRowsRejected());
+        assertEquals(3L, result.getErrors().get(0).getLine());
+        assertEquals(4L, result.getErrors().get(1).getLine());
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void testImportReviews_StopsAtAFailedChunkAndKeepsEarlierOnes() throws IOException {
+        givenEmployees(1L);
+        when(bulkRepository.reserveIds(anyInt())).thenReturn(1L, 3L);
+        doNothing().doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(bulkRepository).insertReviews(anyList(), anyLong(), anyInt());
+
+        ReviewImportResultDTO result = reviewImportService.importReviews(csv(
+                "employeeId,reviewDate,score\n" +
+                        "1,2024-03-31,4.0\n1,2024-06-30,4.0\n1,2024-09-30,4.0\n1,2024-12-31,4.0\n"));
+
+        assertFalse(result.isCompleted());
+        assertEquals(1, result.getChunksCommitted());
+        assertEquals(2, result.getRowsImported());
+        assertEquals("connection lost", result.getFailure());
+    }
+
+    @Test
+    void testCsv_RejectsHeaderWithoutRequiredColumns() {
+        assertThrows(BadRequestException.class, () -> csv("employeeId,score\n1,4.0\n"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ScoreStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreAggregateTest {
+
+    @Test
+    void testToStats_ComputesExactNearestRankPercentiles() {
+        ScoreAggregate aggregate = new ScoreAggregate();
+        for (int i = 1; i <= 100; i++) {
+            aggregate.add(i * 0.05);
+        }
+
+        ScoreStatsDTO.ReviewDateStats stats = aggregate.toStats(LocalDate.of(2024, 1, 15));
+
+        assertEquals(100, stats.getCount());
+        assertEquals(2.525, stats.getAverage(), 1e-9);
+        assertEquals(0.05, stats.getMin(), 1e-9);
+        assertEquals(5.0, stats.getMax(), 1e-9);
+        assertEquals(1.25, stats.getP25(), 1e-9);
+        assertEquals(2.5, stats.getP50(), 1e-9);
+        assertEquals(4.5, stats.getP90(), 1e-9);
+        assertEquals(4.95, stats.getP99(), 1e-9);
+    }
+
+    @Test
+    void testCopy_LeavesOriginalUnchanged() {
+        ScoreAggregate original = new ScoreAggregate();
+        original.add(4.0);
+
+        ScoreAggregate copy = original.copy();
+        copy.add(1.0);
+
+        assertEquals(1, original.count());
+        assertEquals(4.0, original.percentile(0.5), 1e-9);
+        assertEquals(2, copy.count());
+        assertEquals(1.0, copy.percentile(0.5), 1e-9);
+    }
+}
@@ -0,0 +1,181 @@
+package com.assignment.employeemanagement.services;
+
+import com.assignment.employeemanagement.dto.ScoreHistogramDTO;
+import com.assignment.employeemanagement.dto.ScoreRangeDTO;
+import com.assignment.employeemanagement.entities.PerformanceReview;
+import com.assignment.employeemanagement.events.EmployeeDataChangedEvent;
+import com.assignment.employeemanagement.events.ImportedReviews;
+import com.assignment.employeemanagement.exceptions.BadRequestException;
+import com.assignment.employeemanagement.exceptions.ServiceNotReadyException;
+import com.assignment.employeemanagement.repositories.PerformanceAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreIndexServiceTest {
+    private static final LocalDate EARLIER = LocalDate.of(2023, 7, 15);
+    private static final LocalDate LATEST = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private PerformanceAggregateRepository aggregateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ScoreIndexService scoreIndexService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scoreIndexService, "fullRebuildIntervalMs", 3_600_000L);
+    }
+
+    private void givenReviews() {
+        doAnswer(invocation -> {
+            PerformanceAggregateRepository.ScoreRowHandler handler = invocation.getArgument(0);
+            handler.accept(3L, LATEST, 4.5);
+            handler.accept(1L, LATEST, 4.5);
+            handler.accept(2L, LATEST, 3.0);
+            handler.accept(4L, LATEST, 1.25);
+            // Second review for employee 2 on the same date
+            handler.accept(2L, LATEST, 5.0);
+            handler.accept(5L, EARLIER, 2.0);
+            return null;
+        }).when(aggregateRepository).forEachReviewScore(any());
+    }
+
+    @Test
+    void testGetHistogram_BeforeFirstBuildThrowsNotReady() {
+        assertThrows(ServiceNotReadyException.class, () -> scoreIndexService.getHistogram(null, null));
+    }
+
+    @Test
+    void testGetEmployeesInRange_ReturnsDistinctIdsInclusiveOfBounds() {
+        givenReviews();
+        scoreIndexService.refresh();
+
+        ScoreRangeDTO range = scoreIndexService.getEmployeesInRange(LATEST, 3.0, 4.5);
+
+        assertArrayEquals(new long[]{1L, 2L, 3L}, range.getEmployeeIds());
+        assertEquals(3, range.getCount());
+        assertArrayEquals(new long[]{5L}, scoreIndexService.getEmployeesInRange(EARLIER, null, null).getEmployeeIds());
+        assertEquals(0, scoreIndexService.getEmployeesInRange(LocalDate.of(2020, 1, 1), null, null).getCount());
+    }
+
+    @Test
+    void testTopAndBottom_ListEachEmployeeOnceWithTiesByEmployeeId() {
+        givenReviews();
+        scoreIndexService.refresh();
+
+        assertEquals(List.of(new ScoreIndexService.EmployeeScore(2L, 5.0),
+                        new ScoreIndexService.EmployeeScore(1L, 4.5),
+                        new ScoreIndexService.EmployeeScore(3L, 4.5)),
+                scoreIndexService.top(LATEST, 3));
+        assertEquals(List.of(new ScoreIndexService.EmployeeScore(4L, 1.25),
+                        new ScoreIndexService.EmployeeScore(2L, 3.0),
+                        new ScoreIndexService.EmployeeScore(1L, 4.5),
+                        new ScoreIndexService.EmployeeScore(3L, 4.5)),
+                scoreIndexService.bottom(LATEST, 10));
+    }
+
+    @Test
+    void testGetHistogram_DefaultsToLatestReviewDate() {
+        givenReviews();
+        scoreIndexService.refresh();
+
+        ScoreHistogramDTO histogram = scoreIndexService.getHistogram(null, 1.0);
+
+        assertEquals(LATEST, histogram.getReviewDate());
+        assertEquals(5, histogram.getTotal());
+        assertEquals(5, histogram.getBuckets().size());
+        assertEquals(4.0, histogram.getBuckets().get(4).getMinScore());
+        assertEquals(5.0, histogram.getBuckets().get(4).getMaxScore());
+        assertEquals(List.of(0L, 1L, 0L, 1L, 3L),
+                histogram.getBuckets().stream().map(ScoreHistogramDTO.Bucket::getCount).toList());
+    }
+
+    @Test
+    void testGetHistogram_InvalidBucketWidthThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> scoreIndexService.getHistogram(null, 0.005));
+        assertThrows(BadRequestException.class, () -> scoreIndexService.getHistogram(null, 6.0));
+    }
+
+    @Test
+    void testRefresh_MergesNewReviewsWithoutRescanning() {
+        givenReviews();
+        scoreIndexService.refresh();
+
+        PerformanceReview review = new PerformanceReview(100L, null, LATEST, 4.0, null);
+        scoreIndexService.onEmployeeDataChanged(new EmployeeDataChangedEvent(PerformanceReview.class,
+                EmployeeDataChangedEvent.ChangeType.CREATED, 9L, review));
+        scoreIndexService.refresh();
+
+        assertArrayEquals(new long[]{9L}, scoreIndexService.getEmployeesInRange(LATEST, 4.0, 4.0).getEmployeeIds());
+        verify(aggregateRepository, times(1)).forEachReviewScore(any());
+    }
+
+    @Test
+    void testRefresh_MergedEmployeeSortingBeforeExistingOnesKeepsIdOrder() {
+        givenReviews();
+        scoreIndexService.refresh();
+
+        scoreIndexService.onEmployeeDataChanged(new EmployeeDataChangedEvent(PerformanceReview.class,
+                EmployeeDataChangedEvent.ChangeType.CREATED, null, new ImportedReviews(List.of(
+                new ImportedReviews.Review(100L, 0L, LATEST, 4.5),
+                new ImportedReviews.Review(101L, 2L, LATEST, 4.5)))));
+        scoreIndexService.refresh();
+
+        assertArrayEquals(new long[]{0L, 1L, 2L, 3L}, scoreIndexService.getEmployeesInRange(LATEST, 4.5, 4.5).getEmployeeIds());
+        assertEquals(List.of(new ScoreIndexService.EmployeeScore(2L, 5.0),
+                        new ScoreIndexService.EmployeeScore(0L, 4.5),
+                        new ScoreIndexService.EmployeeScore(1L, 4.5),
+                        new ScoreIndexService.EmployeeScore(3L, 4.5),
+                        new ScoreIndexService.EmployeeScore(4L, 1.25)),
+                scoreIndexService.top(LATEST, 10));
+    }
+
+    @Test
+    void testRefresh_AfterBulkImportChunkAppliesImportedReviewsIncrementally() {
+        givenReviews();
+        scoreIndexService.refresh();
+
+        scoreIndexService.onEmployeeDataChanged(new EmployeeDataChangedEvent(PerformanceReview.class,
+                EmployeeDataChangedEvent.ChangeType.CREATED, null, new ImportedReviews(List.of(
+                new ImportedReviews.Review(100L, 7L, LATEST, 4.25),
+                new ImportedReviews.Review(101L, 8L, EARLIER, 4.25)))));
+        scoreIndexService.refresh();
+
+        assertArrayEquals(new long[]{7L}, scoreIndexService.getEmployeesInRange(LATEST, 4.25, 4.25).getEmployeeIds());
+        assertArrayEquals(new long[]{8L}, scoreIndexService.getEmployeesInRange(EARLIER, 4.25, 4.25).getEmployeeIds());
+        verify(aggregateRepository, times(1)).forEachReviewScore(any());
+    }
+
+    @Test
+    void testRefresh_ReviewAtOrBelowRebuildHighWaterRebuildsInsteadOfMerging() {
+        givenReviews();
+        when(aggregateRepository.findMaxReviewId()).thenReturn(100L);
+        scoreIndexService.refresh();
+
+        PerformanceReview review = new PerformanceReview(100L, null, LATEST, 4.0, null);
+        scoreIndexService.onEmployeeDataChanged(new EmployeeDataChangedEvent(PerformanceReview.class,
+                EmployeeDataChangedEvent.ChangeType.CREATED, 9L, review));
+        scoreIndexService.refresh();
+
+        assertEquals(0, scoreIndexService.getEmployeesInRange(LATEST, 4.0, 4.0).getCount());
+        scoreIndexService.refresh();
+        verify(aggregateRepository, times(2)).forEachReviewScore(any());
+    }
+}